@@ -2,8 +2,10 @@ package com.testing.maxym.qafordevsreactive;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class QafordevsReactiveApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,17 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    private Duration deletedOlderThan = Duration.ofDays(30);
+    private Duration interval = Duration.ofMinutes(10);
+    private int batchSize = 500;
+    private Duration batchDelay = Duration.ofMillis(200);
+    private int maxBatchesPerRun = 100;
+}
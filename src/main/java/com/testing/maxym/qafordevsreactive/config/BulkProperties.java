@@ -0,0 +1,11 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.bulk")
+public class BulkProperties {
+    private int maxOperations = 1000;
+    private int pipelineDepth = 16;
+}
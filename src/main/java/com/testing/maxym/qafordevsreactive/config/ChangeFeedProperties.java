@@ -0,0 +1,21 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.change-feed")
+public class ChangeFeedProperties {
+    private boolean enabled = true;
+    private int subscriberBufferSize = 256;
+    private int seenEventIdsCapacity = 4096;
+    private SlowSubscriberPolicy slowSubscriberPolicy = SlowSubscriberPolicy.DROP_OLDEST;
+    private Duration retention = Duration.ofDays(1);
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    public enum SlowSubscriberPolicy {
+        DROP_OLDEST, DROP_LATEST, DISCONNECT
+    }
+}
@@ -0,0 +1,29 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.deadlines", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    public RequestDeadlineWebFilter requestDeadlineWebFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        return new RequestDeadlineWebFilter(properties, meterRegistry);
+    }
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public ConnectionFactoryDecorator statementCancellationConnectionFactoryDecorator() {
+        var listener = new StatementCancellationListener();
+        return connectionFactory -> ProxyConnectionFactory.builder(connectionFactory)
+                .listener(listener)
+                .build();
+    }
+}
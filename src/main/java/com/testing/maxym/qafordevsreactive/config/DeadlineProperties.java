@@ -0,0 +1,25 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.deadlines")
+public class DeadlineProperties {
+    private boolean enabled = true;
+    private String header = "X-Request-Timeout";
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+    private Duration maxTimeout = Duration.ofSeconds(30);
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String method;
+        private String pattern;
+        private Duration timeout = Duration.ZERO;
+    }
+}
@@ -0,0 +1,35 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+
+import java.util.List;
+
+public class DeveloperShards implements DisposableBean {
+
+    private final List<R2dbcEntityTemplate> templates;
+    private final List<ConnectionPool> pools;
+
+    public DeveloperShards(List<R2dbcEntityTemplate> templates, List<ConnectionPool> pools) {
+        this.templates = List.copyOf(templates);
+        this.pools = List.copyOf(pools);
+    }
+
+    public int count() {
+        return templates.size();
+    }
+
+    public R2dbcEntityTemplate template(int shard) {
+        return templates.get(shard);
+    }
+
+    public List<R2dbcEntityTemplate> templates() {
+        return templates;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(ConnectionPool::dispose);
+    }
+}
@@ -0,0 +1,31 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+@Configuration(proxyBeanMethods = false)
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlLimitsProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlLimitsProperties properties) {
+        return new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(), (environment, childComplexity) -> {
+            var fieldComplexity = 1 + childComplexity;
+            return switch (environment.getField().getName()) {
+                case "developers" -> environment.getArguments().get("ids") instanceof Collection<?> ids
+                        ? ids.size() * fieldComplexity
+                        : fieldComplexity;
+                case "developersBySpecialty" -> properties.getAssumedListSize() * fieldComplexity;
+                default -> fieldComplexity;
+            };
+        });
+    }
+}
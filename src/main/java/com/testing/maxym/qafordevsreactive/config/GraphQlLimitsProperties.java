@@ -0,0 +1,12 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.graphql")
+public class GraphQlLimitsProperties {
+    private int maxDepth = 6;
+    private int maxComplexity = 1000;
+    private int assumedListSize = 50;
+}
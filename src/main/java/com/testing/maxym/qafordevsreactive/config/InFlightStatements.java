@@ -0,0 +1,61 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.micrometer.context.ContextRegistry;
+import io.r2dbc.spi.Connection;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public final class InFlightStatements {
+
+    public static final String KEY = InFlightStatements.class.getName();
+
+    private static final ThreadLocal<InFlightStatements> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(KEY, CURRENT);
+    }
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    public static InFlightStatements current() {
+        return CURRENT.get();
+    }
+
+    void started(Connection connection) {
+        connections.add(connection);
+        if (cancelled && connections.remove(connection))
+            cancelRequest(connection);
+    }
+
+    void finished(Connection connection) {
+        connections.remove(connection);
+    }
+
+    public int cancel() {
+        cancelled = true;
+        var cancelledStatements = 0;
+        for (var connection : connections) {
+            if (connections.remove(connection) && cancelRequest(connection))
+                cancelledStatements++;
+        }
+        return cancelledStatements;
+    }
+
+    private static boolean cancelRequest(Connection connection) {
+        return PostgresConnections.unwrap(connection)
+                .map(postgresqlConnection -> {
+                    postgresqlConnection.cancelRequest()
+                            .doOnError(e -> log.debug("Postgres cancel request failed: {}", e.getMessage()))
+                            .onErrorComplete()
+                            .then(Mono.defer(postgresqlConnection::close))
+                            .subscribe(null, e -> log.debug("Closing cancelled Postgres connection failed: {}", e.getMessage()));
+                    return true;
+                })
+                .orElse(false);
+    }
+}
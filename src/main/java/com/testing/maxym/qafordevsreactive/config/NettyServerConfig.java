@@ -0,0 +1,40 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class NettyServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources httpServerLoopResources(NettyServerProperties properties) {
+        var workerThreads = properties.getWorkerThreads() > 0
+                ? properties.getWorkerThreads()
+                : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create("http-server", properties.getSelectThreads(), workerThreads, true);
+    }
+
+    @Bean
+    public NettyServerCustomizer tunedNettyServerCustomizer(NettyServerProperties properties, LoopResources httpServerLoopResources) {
+        var activeConnections = new AtomicInteger();
+        return server -> server
+                .runOn(httpServerLoopResources, properties.isNativeTransport())
+                .option(ChannelOption.SO_BACKLOG, properties.getBacklog())
+                .childOption(ChannelOption.SO_KEEPALIVE, properties.isTcpKeepAlive())
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    channel.closeFuture().addListener(future -> activeConnections.decrementAndGet());
+                    if (activeConnections.incrementAndGet() > properties.getMaxConnections()) {
+                        log.warn("Rejecting connection from {}: {} connections already open", remoteAddress, properties.getMaxConnections());
+                        channel.close();
+                    }
+                });
+    }
+}
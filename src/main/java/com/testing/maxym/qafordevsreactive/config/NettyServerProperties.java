@@ -0,0 +1,15 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.netty")
+public class NettyServerProperties {
+    private boolean nativeTransport = true;
+    private int selectThreads = 1;
+    private int workerThreads = 0;
+    private int maxConnections = 10000;
+    private int backlog = 1024;
+    private boolean tcpKeepAlive = true;
+}
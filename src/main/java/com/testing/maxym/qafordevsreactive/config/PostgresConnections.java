@@ -0,0 +1,22 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+
+import java.util.Optional;
+
+public final class PostgresConnections {
+
+    private PostgresConnections() {
+    }
+
+    public static Optional<PostgresqlConnection> unwrap(Connection connection) {
+        Object candidate = connection;
+        while (!(candidate instanceof PostgresqlConnection) && candidate instanceof Wrapped<?> wrapped)
+            candidate = wrapped.unwrap();
+        return candidate instanceof PostgresqlConnection postgresqlConnection
+                ? Optional.of(postgresqlConnection)
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,12 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.rsocket")
+public class RSocketResumeProperties {
+    private Duration resumeSessionDuration = Duration.ofMinutes(2);
+}
@@ -0,0 +1,16 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.rsocket.core.Resume;
+import org.springframework.boot.rsocket.server.RSocketServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class RSocketServerConfig {
+
+    @Bean
+    public RSocketServerCustomizer resumableRSocketServerCustomizer(RSocketResumeProperties properties) {
+        return server -> server.resume(new Resume()
+                .sessionDuration(properties.getResumeSessionDuration()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.read-model")
+public class ReadModelProperties {
+    private boolean enabled = false;
+    private Duration refreshInterval = Duration.ofSeconds(2);
+    private int reconcileEveryRefreshes = 30;
+}
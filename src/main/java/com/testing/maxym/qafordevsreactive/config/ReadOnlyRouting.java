@@ -0,0 +1,20 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+public final class ReadOnlyRouting {
+
+    private static final String READ_ONLY_KEY = ReadOnlyRouting.class.getName() + ".READ_ONLY";
+
+    private ReadOnlyRouting() {
+    }
+
+    public static Context readOnly(Context context) {
+        return context.put(READ_ONLY_KEY, Boolean.TRUE);
+    }
+
+    public static boolean isReadOnly(ContextView context) {
+        return context.getOrDefault(READ_ONLY_KEY, Boolean.FALSE);
+    }
+}
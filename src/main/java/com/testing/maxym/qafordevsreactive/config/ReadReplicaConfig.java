@@ -0,0 +1,64 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import static java.util.Objects.nonNull;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(R2dbcProperties.class)
+@ConditionalOnProperty(prefix = "app.r2dbc.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory(ReplicaRoutingConnectionFactory routingConnectionFactory,
+                                               ObjectProvider<ConnectionFactoryDecorator> decorators) {
+        ConnectionFactory connectionFactory = routingConnectionFactory;
+        for (var decorator : decorators.orderedStream().toList())
+            connectionFactory = decorator.decorate(connectionFactory);
+        return connectionFactory;
+    }
+
+    @Bean
+    public ReplicaRoutingConnectionFactory replicaRoutingConnectionFactory(R2dbcConnectionDetails connectionDetails,
+                                                                           R2dbcProperties r2dbcProperties,
+                                                                           ReadReplicaProperties replicaProperties) {
+        var primary = pooled(ConnectionFactoryBuilder
+                .withOptions(connectionDetails.getConnectionFactoryOptions().mutate())
+                .build(), r2dbcProperties.getPool());
+
+        var username = nonNull(replicaProperties.getUsername()) ? replicaProperties.getUsername() : r2dbcProperties.getUsername();
+        var password = nonNull(replicaProperties.getPassword()) ? replicaProperties.getPassword() : r2dbcProperties.getPassword();
+        var replicas = replicaProperties.getUrls().stream()
+                .<ConnectionFactory>map(url -> pooled(ConnectionFactoryBuilder.withUrl(url)
+                        .username(username)
+                        .password(password)
+                        .build(), r2dbcProperties.getPool()))
+                .toList();
+
+        return new ReplicaRoutingConnectionFactory(primary, replicas,
+                replicaProperties.getHealthCheckInterval(), replicaProperties.getHealthCheckTimeout());
+    }
+
+    static ConnectionPool pooled(ConnectionFactory connectionFactory, R2dbcProperties.Pool pool) {
+        var configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime());
+        if (nonNull(pool.getValidationQuery()))
+            configuration.validationQuery(pool.getValidationQuery());
+        return new ConnectionPool(configuration.build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.r2dbc.read-replicas")
+public class ReadReplicaProperties {
+    private boolean enabled = false;
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,108 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaRoutingConnectionFactory implements ConnectionFactory, DisposableBean {
+
+    private final ConnectionFactory primary;
+    private final List<ConnectionFactory> replicas;
+    private final Set<Integer> ejected = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Disposable healthCheck;
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, List<ConnectionFactory> replicas,
+                                           Duration healthCheckInterval, Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthCheck = Flux.interval(healthCheckInterval)
+                .concatMap(tick -> Flux.range(0, this.replicas.size())
+                        .flatMap(index -> checkReplica(index, healthCheckTimeout)))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> {
+            if (!ReadOnlyRouting.isReadOnly(context))
+                return Mono.from(primary.create());
+
+            var index = nextHealthyReplica();
+            if (index < 0)
+                return Mono.from(primary.create());
+
+            return Mono.<Connection>from(replicas.get(index).create())
+                    .onErrorResume(e -> {
+                        eject(index, e);
+                        return Mono.from(primary.create());
+                    });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public void destroy() {
+        healthCheck.dispose();
+        var targets = new ArrayList<ConnectionFactory>(replicas);
+        targets.add(primary);
+        Flux.fromIterable(targets)
+                .filter(Closeable.class::isInstance)
+                .flatMap(target -> ((Closeable) target).close())
+                .blockLast();
+    }
+
+    boolean isEjected(int index) {
+        return ejected.contains(index);
+    }
+
+    private int nextHealthyReplica() {
+        var size = replicas.size();
+        for (int attempt = 0; attempt < size; attempt++) {
+            var index = Math.floorMod(next.getAndIncrement(), size);
+            if (!ejected.contains(index))
+                return index;
+        }
+        return -1;
+    }
+
+    private Mono<Void> checkReplica(int index, Duration timeout) {
+        return Mono.usingWhen(replicas.get(index).create(),
+                        connection -> Flux.from(connection.createStatement("SELECT 1").execute())
+                                .flatMap(result -> result.map((row, metadata) -> 1))
+                                .then(),
+                        Connection::close)
+                .timeout(timeout)
+                .doOnSuccess(ignored -> {
+                    if (ejected.remove(index))
+                        log.info("Read replica #{} is healthy again, routing reads to it", index);
+                })
+                .onErrorResume(e -> {
+                    eject(index, e);
+                    return Mono.empty();
+                });
+    }
+
+    private void eject(int index, Throwable cause) {
+        if (ejected.add(index))
+            log.warn("Read replica #{} ejected from routing: {}", index, cause.getMessage());
+    }
+}
@@ -0,0 +1,103 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import com.testing.maxym.qafordevsreactive.exception.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.isNull;
+
+public class RequestDeadlineWebFilter implements WebFilter, Ordered {
+
+    private final DeadlineProperties properties;
+    private final List<RouteDeadline> routes;
+    private final Counter timedOutRequests;
+    private final Counter cancelledRequests;
+    private final Counter cancelledStatements;
+
+    public RequestDeadlineWebFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new RouteDeadline(route.getMethod(), PathPatternParser.defaultInstance.parse(route.getPattern()), route.getTimeout()))
+                .toList();
+        this.timedOutRequests = meterRegistry.counter("developers.requests.timed_out");
+        this.cancelledRequests = meterRegistry.counter("developers.requests.cancelled");
+        this.cancelledStatements = meterRegistry.counter("developers.db.cancelled_statements");
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var statements = new InFlightStatements();
+        var request = chain.filter(exchange)
+                .doOnCancel(() -> cancelledStatements.increment(statements.cancel()))
+                .contextWrite(context -> context.put(InFlightStatements.KEY, statements));
+
+        var timeout = deadlineFor(exchange.getRequest());
+        if (!timeout.isZero())
+            request = request.timeout(untilCommitted(exchange, timeout), Mono.defer(() -> {
+                timedOutRequests.increment();
+                return Mono.error(new RequestDeadlineExceededException(
+                        "Request did not start responding within " + timeout.toMillis() + "ms", "REQUEST_DEADLINE_EXCEEDED"));
+            }));
+        return request.doOnCancel(cancelledRequests::increment);
+    }
+
+    private static Mono<Long> untilCommitted(ServerWebExchange exchange, Duration timeout) {
+        var committed = new AtomicBoolean();
+        exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> committed.set(true)));
+        return Mono.delay(timeout)
+                .filter(tick -> !committed.get())
+                .switchIfEmpty(Mono.never());
+    }
+
+    Duration deadlineFor(ServerHttpRequest request) {
+        var timeout = routeTimeout(request);
+        var requested = requestedTimeout(request);
+        if (isNull(requested))
+            return timeout;
+        return timeout.isZero() || requested.compareTo(timeout) < 0 ? requested : timeout;
+    }
+
+    private Duration routeTimeout(ServerHttpRequest request) {
+        var path = request.getPath().pathWithinApplication();
+        for (var route : routes)
+            if ((isNull(route.method()) || route.method().equalsIgnoreCase(request.getMethod().name()))
+                    && route.pattern().matches(path))
+                return route.timeout();
+        return properties.getDefaultTimeout();
+    }
+
+    private Duration requestedTimeout(ServerHttpRequest request) {
+        var header = request.getHeaders().getFirst(properties.getHeader());
+        if (isNull(header))
+            return null;
+        try {
+            var requested = DurationStyle.detectAndParse(header.trim());
+            if (requested.isNegative() || requested.isZero())
+                return null;
+            return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record RouteDeadline(String method, PathPattern pattern, Duration timeout) {
+    }
+}
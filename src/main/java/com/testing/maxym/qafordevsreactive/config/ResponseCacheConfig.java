@@ -0,0 +1,16 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import com.testing.maxym.qafordevsreactive.service.DeveloperResponseCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.response-cache", name = "enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCacheWebFilter responseCacheWebFilter(DeveloperResponseCache cache, ResponseCacheProperties properties) {
+        return new ResponseCacheWebFilter(cache, properties);
+    }
+}
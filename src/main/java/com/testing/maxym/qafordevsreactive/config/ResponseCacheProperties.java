@@ -0,0 +1,22 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    private DataSize maxEntrySize = DataSize.ofMegabytes(16);
+    private Duration ttl = Duration.ofSeconds(60);
+    private Duration invalidationHoldOff = Duration.ofSeconds(1);
+    private boolean gzip = true;
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+    private List<String> routes = new ArrayList<>();
+}
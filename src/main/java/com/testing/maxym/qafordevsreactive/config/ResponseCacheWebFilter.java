@@ -0,0 +1,179 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import com.testing.maxym.qafordevsreactive.service.DeveloperResponseCache;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+public class ResponseCacheWebFilter implements WebFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Response-Cache";
+
+    private final DeveloperResponseCache cache;
+    private final List<PathPattern> routes;
+    private final long maxEntryBytes;
+
+    public ResponseCacheWebFilter(DeveloperResponseCache cache, ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.routes = properties.getRoutes().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.maxEntryBytes = properties.getMaxEntrySize().toBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET)
+            return chain.filter(exchange);
+        var tag = tagOf(exchange);
+        if (isNull(tag))
+            return chain.filter(exchange);
+
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        var headers = request.getHeaders();
+        var key = request.getPath().pathWithinApplication().value()
+                + "?" + request.getURI().getRawQuery()
+                + "|" + headers.getFirst(HttpHeaders.ACCEPT);
+        var acceptsGzip = acceptsGzip(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+
+        var cached = cache.get(key, acceptsGzip);
+        if (cached != null)
+            return writeCached(exchange.getResponse(), cached);
+
+        var stamp = cache.stamp(tag);
+        if (stamp == DeveloperResponseCache.NOT_CACHEABLE)
+            return chain.filter(exchange);
+        var capture = new CapturingResponse(exchange.getResponse(), maxEntryBytes);
+        return chain.filter(exchange.mutate().response(capture).build())
+                .doFinally(signal -> {
+                    var body = capture.complete(signal);
+                    if (body != null)
+                        cache.put(key, tag, capture.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), body, stamp);
+                });
+    }
+
+    private String tagOf(ServerWebExchange exchange) {
+        var path = exchange.getRequest().getPath().pathWithinApplication();
+        for (var route : routes) {
+            var match = route.matchAndExtract(path);
+            if (match != null)
+                return match.getUriVariables().getOrDefault("specialty", DeveloperResponseCache.ALL_DEVELOPERS);
+        }
+        return null;
+    }
+
+    private static Mono<Void> writeCached(ServerHttpResponse response, DeveloperResponseCache.CachedBody cached) {
+        var headers = response.getHeaders();
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null)
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        if (cached.gzipped())
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.setContentLength(cached.body().readableBytes());
+        headers.set(CACHE_HEADER, "HIT");
+
+        DataBuffer buffer;
+        if (response.bufferFactory() instanceof NettyDataBufferFactory nettyBufferFactory)
+            buffer = nettyBufferFactory.wrap(cached.body());
+        else {
+            buffer = response.bufferFactory().wrap(ByteBufUtil.getBytes(cached.body()));
+            cached.body().release();
+        }
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (isNull(acceptEncoding))
+            return false;
+        for (var coding : acceptEncoding.split(",")) {
+            var parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip"))
+                return parts.length == 1 || !parts[1].replace(" ", "").equals("q=0");
+        }
+        return false;
+    }
+
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final long maxBytes;
+        private ByteBuf body = PooledByteBufAllocator.DEFAULT.directBuffer();
+        private boolean cacheable = true;
+
+        private CapturingResponse(ServerHttpResponse delegate, long maxBytes) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::append));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            abandon();
+            return super.writeAndFlushWith(body);
+        }
+
+        private synchronized void append(DataBuffer buffer) {
+            if (!cacheable)
+                return;
+            if (body.readableBytes() + buffer.readableByteCount() > maxBytes) {
+                abandon();
+                return;
+            }
+            try (var iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext())
+                    body.writeBytes(iterator.next());
+            }
+        }
+
+        private synchronized ByteBuf complete(SignalType signal) {
+            var status = getStatusCode();
+            if (signal != SignalType.ON_COMPLETE || (status != null && status.value() != HttpStatus.OK.value())
+                    || getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING))
+                abandon();
+            if (!cacheable)
+                return null;
+            cacheable = false;
+            var captured = body;
+            body = null;
+            return captured;
+        }
+
+        private synchronized void abandon() {
+            cacheable = false;
+            if (body != null) {
+                body.release();
+                body = null;
+            }
+        }
+    }
+}
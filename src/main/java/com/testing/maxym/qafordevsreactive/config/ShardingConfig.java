@@ -0,0 +1,79 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+
+import static java.util.Objects.nonNull;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(R2dbcProperties.class)
+@ConditionalOnProperty(prefix = "app.r2dbc.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public DeveloperShards developerShards(ShardingProperties shardingProperties,
+                                           ReadModelProperties readModelProperties,
+                                           ChangeFeedProperties changeFeedProperties,
+                                           R2dbcProperties r2dbcProperties,
+                                           R2dbcEntityTemplate r2dbcEntityTemplate,
+                                           ObjectProvider<ConnectionFactoryDecorator> decorators) {
+        if (shardingProperties.getUrls().isEmpty())
+            throw new IllegalStateException("app.r2dbc.sharding.urls must list at least one shard");
+        if (Integer.bitCount(shardingProperties.getBuckets()) != 1 || shardingProperties.getBuckets() > 1024)
+            throw new IllegalStateException("app.r2dbc.sharding.buckets must be a power of two up to 1024");
+        if (readModelProperties.isEnabled() || changeFeedProperties.isEnabled())
+            throw new IllegalStateException("app.r2dbc.sharding cannot be combined with app.read-model or app.change-feed: "
+                    + "both read and listen on the primary database only");
+
+        var username = nonNull(shardingProperties.getUsername()) ? shardingProperties.getUsername() : r2dbcProperties.getUsername();
+        var password = nonNull(shardingProperties.getPassword()) ? shardingProperties.getPassword() : r2dbcProperties.getPassword();
+        var templates = new ArrayList<R2dbcEntityTemplate>();
+        var pools = new ArrayList<ConnectionPool>();
+        for (var url : shardingProperties.getUrls()) {
+            if (shardingProperties.isMigrateShards())
+                migrate(url, username, password);
+
+            var pool = ReadReplicaConfig.pooled(ConnectionFactoryBuilder.withUrl(url)
+                    .username(username)
+                    .password(password)
+                    .build(), r2dbcProperties.getPool());
+            ConnectionFactory connectionFactory = pool;
+            for (var decorator : decorators.orderedStream().toList())
+                connectionFactory = decorator.decorate(connectionFactory);
+
+            var databaseClient = DatabaseClient.builder()
+                    .connectionFactory(connectionFactory)
+                    .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+                    .build();
+            templates.add(new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE, r2dbcEntityTemplate.getConverter()));
+            pools.add(pool);
+        }
+        return new DeveloperShards(templates, pools);
+    }
+
+    private static void migrate(String r2dbcUrl, String username, String password) {
+        var jdbcUrl = "jdbc:" + r2dbcUrl.substring("r2dbc:".length()).replaceFirst("^pool:", "");
+        log.info("Migrating developers shard {}", jdbcUrl);
+        Flyway.configure()
+                .dataSource(jdbcUrl, username, password)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+}
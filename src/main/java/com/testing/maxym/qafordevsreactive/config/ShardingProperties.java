@@ -0,0 +1,26 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.r2dbc.sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private boolean migrateShards = true;
+    private int buckets = 64;
+    private int idBlockSize = 1000;
+    private Duration bucketMapRefreshInterval = Duration.ofSeconds(5);
+    private int frozenWriteRetries = 20;
+    private int moveBatchSize = 500;
+    private Duration moveFreezeSettle = Duration.ofSeconds(2);
+    private Duration moveGracePeriod = Duration.ofSeconds(30);
+    private Duration moveCleanupInterval = Duration.ofSeconds(10);
+}
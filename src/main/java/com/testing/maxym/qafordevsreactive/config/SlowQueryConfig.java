@@ -0,0 +1,27 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public ConnectionFactoryDecorator slowQueryConnectionFactoryDecorator(SlowQueryProperties properties,
+                                                                         ObservationRegistry observationRegistry,
+                                                                         MeterRegistry meterRegistry) {
+        var listener = new SlowQueryListener(properties, observationRegistry, meterRegistry);
+        return connectionFactory -> ProxyConnectionFactory.builder(connectionFactory)
+                .listener(listener)
+                .build();
+    }
+}
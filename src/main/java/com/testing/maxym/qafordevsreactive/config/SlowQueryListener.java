@@ -0,0 +1,96 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.proxy.support.QueryExecutionInfoFormatter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SlowQueryListener implements ProxyExecutionListener {
+
+    public static final String SERVICE_OBSERVATION = "developer.service";
+    public static final String METHOD_KEY = "method";
+
+    private static final String CALLER = SlowQueryListener.class.getName() + ".CALLER";
+    private static final String ROWS = SlowQueryListener.class.getName() + ".ROWS";
+    private static final String UNKNOWN_CALLER = "unknown";
+
+    private final SlowQueryProperties properties;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final QueryExecutionInfoFormatter bindingsFormatter = new QueryExecutionInfoFormatter().showBindings();
+
+    public SlowQueryListener(SlowQueryProperties properties, ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(QueryExecutionInfo execInfo) {
+        execInfo.getValueStore().put(CALLER, currentCaller());
+        execInfo.getValueStore().put(ROWS, new AtomicLong());
+    }
+
+    @Override
+    public void eachQueryResult(QueryExecutionInfo execInfo) {
+        var rows = execInfo.getValueStore().get(ROWS, AtomicLong.class);
+        if (rows == null)
+            return;
+        if (!isSelect(execInfo) && execInfo.getCurrentMappedResult() instanceof Number affected)
+            rows.addAndGet(affected.longValue());
+        else
+            rows.incrementAndGet();
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        var duration = execInfo.getExecuteDuration();
+        var caller = execInfo.getValueStore().get(CALLER, String.class);
+        if (caller == null)
+            caller = UNKNOWN_CALLER;
+
+        meterRegistry.timer("developers.db.statements", METHOD_KEY, caller).record(duration);
+        if (duration.compareTo(properties.getThreshold()) < 0)
+            return;
+
+        meterRegistry.counter("developers.db.slow_statements", METHOD_KEY, caller).increment();
+        var rows = execInfo.getValueStore().get(ROWS, AtomicLong.class);
+        log.warn("slow_query caller={} duration_ms={} rows={} success={} sql=\"{}\" bindings=\"{}\"",
+                caller,
+                duration.toMillis(),
+                rows == null ? 0 : rows.get(),
+                execInfo.isSuccess(),
+                execInfo.getQueries().stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")),
+                properties.isLogBindValues() ? bindingsFormatter.format(execInfo) : "<hidden>");
+    }
+
+    private String currentCaller() {
+        ObservationView observation = observationRegistry.getCurrentObservation();
+        while (observation != null) {
+            var context = observation.getContextView();
+            if (SERVICE_OBSERVATION.equals(context.getName())) {
+                var method = context.getLowCardinalityKeyValue(METHOD_KEY);
+                if (method != null)
+                    return method.getValue();
+            }
+            observation = context.getParentObservation();
+        }
+        return UNKNOWN_CALLER;
+    }
+
+    private static boolean isSelect(QueryExecutionInfo execInfo) {
+        return execInfo.getQueries().stream()
+                .map(QueryInfo::getQuery)
+                .map(query -> query.stripLeading().toUpperCase(Locale.ROOT))
+                .allMatch(query -> query.startsWith("SELECT"));
+    }
+}
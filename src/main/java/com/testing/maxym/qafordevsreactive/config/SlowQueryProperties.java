@@ -0,0 +1,14 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.slow-query")
+public class SlowQueryProperties {
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(200);
+    private boolean logBindValues = false;
+}
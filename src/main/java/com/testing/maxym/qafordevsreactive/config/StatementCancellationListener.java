@@ -0,0 +1,25 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+
+public class StatementCancellationListener implements ProxyExecutionListener {
+
+    private static final String STATEMENTS = StatementCancellationListener.class.getName() + ".STATEMENTS";
+
+    @Override
+    public void beforeQuery(QueryExecutionInfo execInfo) {
+        var statements = InFlightStatements.current();
+        if (statements == null)
+            return;
+        execInfo.getValueStore().put(STATEMENTS, statements);
+        statements.started(execInfo.getConnectionInfo().getOriginalConnection());
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo execInfo) {
+        var statements = execInfo.getValueStore().get(STATEMENTS, InFlightStatements.class);
+        if (statements != null)
+            statements.finished(execInfo.getConnectionInfo().getOriginalConnection());
+    }
+}
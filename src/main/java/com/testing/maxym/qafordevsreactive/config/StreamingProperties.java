@@ -0,0 +1,20 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("app.r2dbc.streaming")
+public class StreamingProperties {
+    private int defaultFetchSize = 500;
+    private Map<String, Integer> fetchSize = new HashMap<>();
+    private int limitRate = 256;
+    private int limitRateLowTide = 192;
+
+    public int fetchSizeFor(String query) {
+        return fetchSize.getOrDefault(query, defaultFetchSize);
+    }
+}
@@ -0,0 +1,19 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+    private Duration timeout = Duration.ofSeconds(60);
+    private Duration connectionBarrierTimeout = Duration.ofSeconds(5);
+    private int iterations = 200;
+    private int concurrency = 8;
+    private List<String> paths = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationDto {
+    private BulkOperationType type;
+    private Integer id;
+    private DeveloperDto developer;
+}
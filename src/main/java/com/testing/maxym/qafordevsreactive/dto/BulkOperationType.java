@@ -0,0 +1,5 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+public enum BulkOperationType {
+    CREATE, UPDATE, SOFT_DELETE, HARD_DELETE
+}
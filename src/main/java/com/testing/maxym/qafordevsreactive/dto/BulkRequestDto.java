@@ -0,0 +1,17 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRequestDto {
+    private boolean atomic;
+    private List<BulkOperationDto> operations;
+}
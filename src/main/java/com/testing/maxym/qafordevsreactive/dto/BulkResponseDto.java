@@ -0,0 +1,18 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResponseDto {
+    private boolean atomic;
+    private boolean committed;
+    private List<BulkResultDto> results;
+}
@@ -0,0 +1,21 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkResultDto {
+    private int index;
+    private BulkOperationType type;
+    private BulkResultStatus status;
+    private DeveloperDto developer;
+    private String code;
+    private String message;
+}
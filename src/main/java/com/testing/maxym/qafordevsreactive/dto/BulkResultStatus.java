@@ -0,0 +1,5 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+public enum BulkResultStatus {
+    SUCCEEDED, FAILED, ROLLED_BACK, SKIPPED
+}
@@ -0,0 +1,24 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.testing.maxym.qafordevsreactive.entity.ChangeOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeveloperChangeEvent {
+    private Long eventId;
+    private Integer developerId;
+    private ChangeOperation operation;
+    private String specialty;
+    private String previousSpecialty;
+    private LocalDateTime occurredAt;
+}
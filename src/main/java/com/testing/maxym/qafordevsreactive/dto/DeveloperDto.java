@@ -22,14 +22,8 @@ public class DeveloperDto {
     private Status status;
 
     public static DeveloperDto fromEntity(DeveloperEntity entity) {
-        return DeveloperDto.builder()
-                .id(entity.getId())
-                .firstName(entity.getFirstName())
-                .lastName(entity.getLastName())
-                .email(entity.getEmail())
-                .specialty(entity.getSpecialty())
-                .status(entity.getStatus())
-                .build();
+        return new DeveloperDto(entity.getId(), entity.getFirstName(), entity.getLastName(),
+                entity.getEmail(), entity.getSpecialty(), entity.getStatus());
     }
 
     public DeveloperEntity toEntity() {
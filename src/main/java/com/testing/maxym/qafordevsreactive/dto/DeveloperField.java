@@ -0,0 +1,64 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+@Getter
+@RequiredArgsConstructor
+public enum DeveloperField {
+    ID("id", "id", (dto, entity) -> dto.setId(entity.getId())),
+    FIRST_NAME("firstName", "first_name", (dto, entity) -> dto.setFirstName(entity.getFirstName())),
+    LAST_NAME("lastName", "last_name", (dto, entity) -> dto.setLastName(entity.getLastName())),
+    EMAIL("email", "email", (dto, entity) -> dto.setEmail(entity.getEmail())),
+    SPECIALTY("specialty", "specialty", (dto, entity) -> dto.setSpecialty(entity.getSpecialty())),
+    STATUS("status", "status", (dto, entity) -> dto.setStatus(entity.getStatus()));
+
+    public static final Set<DeveloperField> ALL = Collections.unmodifiableSet(EnumSet.allOf(DeveloperField.class));
+
+    private final String jsonName;
+    private final String column;
+    private final BiConsumer<DeveloperDto, DeveloperEntity> copier;
+
+    public static Set<DeveloperField> parse(String fields) {
+        var parsed = EnumSet.noneOf(DeveloperField.class);
+        for (var name : fields.split(",")) {
+            var trimmed = name.trim();
+            if (trimmed.isEmpty())
+                continue;
+            parsed.add(fromJsonName(trimmed));
+        }
+        if (parsed.isEmpty())
+            throw new InvalidRequestParameterException("Parameter 'fields' must name at least one field", "INVALID_FIELDS");
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    public static Set<DeveloperField> selectedBy(Collection<String> jsonNames) {
+        var selected = EnumSet.of(ID);
+        for (var field : values())
+            if (jsonNames.contains(field.jsonName))
+                selected.add(field);
+        return Collections.unmodifiableSet(selected);
+    }
+
+    public static DeveloperDto project(DeveloperEntity entity, Set<DeveloperField> fields) {
+        var projected = new DeveloperDto();
+        for (var field : fields)
+            field.copier.accept(projected, entity);
+        return projected;
+    }
+
+    private static DeveloperField fromJsonName(String jsonName) {
+        for (var field : values())
+            if (field.jsonName.equals(jsonName))
+                return field;
+        throw new InvalidRequestParameterException("Unknown field '" + jsonName + "'", "INVALID_FIELDS");
+    }
+}
@@ -0,0 +1,55 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperFilter {
+    private Status status;
+    private List<String> specialties;
+    private String lastNamePrefix;
+    private DeveloperSort sort;
+
+    public static DeveloperFilter of(String status, List<String> specialties, String lastNamePrefix, String sort) {
+        var filter = new DeveloperFilter();
+        if (nonNull(status)) {
+            try {
+                filter.setStatus(Status.valueOf(status.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestParameterException("Unknown status '" + status + "'", "INVALID_FILTER");
+            }
+        }
+        if (nonNull(specialties)) {
+            var trimmed = specialties.stream().map(String::trim).filter(value -> !value.isEmpty()).distinct().toList();
+            if (trimmed.isEmpty())
+                throw new InvalidRequestParameterException("Parameter 'specialty' must name at least one specialty", "INVALID_FILTER");
+            filter.setSpecialties(trimmed);
+        }
+        if (nonNull(lastNamePrefix)) {
+            if (lastNamePrefix.isEmpty())
+                throw new InvalidRequestParameterException("Parameter 'lastNamePrefix' must not be empty", "INVALID_FILTER");
+            filter.setLastNamePrefix(lastNamePrefix);
+        }
+        filter.setSort(isNull(sort) ? DeveloperSort.ID : DeveloperSort.parse(sort));
+        return filter;
+    }
+
+    public boolean matches(DeveloperEntity developer) {
+        return (isNull(status) || status == developer.getStatus())
+                && (isNull(specialties) || specialties.contains(developer.getSpecialty()))
+                && (isNull(lastNamePrefix) || (nonNull(developer.getLastName()) && developer.getLastName().startsWith(lastNamePrefix)));
+    }
+}
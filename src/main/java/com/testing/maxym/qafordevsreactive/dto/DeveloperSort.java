@@ -0,0 +1,49 @@
+package com.testing.maxym.qafordevsreactive.dto;
+
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+@Getter
+@RequiredArgsConstructor
+public enum DeveloperSort {
+    ID("id", Sort.by(Sort.Order.asc("id")),
+            Comparator.comparing(DeveloperEntity::getId)),
+    ID_DESC("-id", Sort.by(Sort.Order.desc("id")),
+            Comparator.comparing(DeveloperEntity::getId).reversed()),
+    LAST_NAME("lastName", Sort.by(Sort.Order.asc("lastName"), Sort.Order.asc("id")),
+            Comparator.comparing(DeveloperEntity::getLastName, Comparator.nullsLast(DeveloperSort::compareCodePoints))
+                    .thenComparing(DeveloperEntity::getId)),
+    LAST_NAME_DESC("-lastName", Sort.by(Sort.Order.desc("lastName"), Sort.Order.desc("id")),
+            Comparator.comparing(DeveloperEntity::getLastName, Comparator.nullsLast(DeveloperSort::compareCodePoints))
+                    .thenComparing(DeveloperEntity::getId)
+                    .reversed());
+
+    private final String parameter;
+    private final Sort sort;
+    private final Comparator<DeveloperEntity> comparator;
+
+    public static DeveloperSort parse(String sort) {
+        for (var value : values())
+            if (value.parameter.equals(sort.trim()))
+                return value;
+        throw new InvalidRequestParameterException("Unsupported sort '" + sort + "'", "INVALID_FILTER");
+    }
+
+    private static int compareCodePoints(String left, String right) {
+        int i = 0, j = 0;
+        while (i < left.length() && j < right.length()) {
+            var leftCodePoint = left.codePointAt(i);
+            var rightCodePoint = right.codePointAt(j);
+            if (leftCodePoint != rightCodePoint)
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            i += Character.charCount(leftCodePoint);
+            j += Character.charCount(rightCodePoint);
+        }
+        return Integer.compare(left.length() - i, right.length() - j);
+    }
+}
@@ -0,0 +1,5 @@
+package com.testing.maxym.qafordevsreactive.entity;
+
+public enum ChangeOperation {
+    CREATED, UPDATED, SOFT_DELETED, HARD_DELETED, ARCHIVED, RESTORED, RESYNC_REQUIRED
+}
@@ -8,6 +8,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.time.LocalDateTime;
+
 import static java.util.Objects.isNull;
 
 @Data
@@ -23,6 +25,7 @@ public class DeveloperEntity implements Persistable<Integer> {
     private String email;
     private String specialty;
     private Status status;
+    private LocalDateTime deletedAt;
 
     @Override
     public boolean isNew() {
@@ -2,7 +2,10 @@ package com.testing.maxym.qafordevsreactive.errorhandling;
 
 import com.testing.maxym.qafordevsreactive.exception.ApiException;
 import com.testing.maxym.qafordevsreactive.exception.DeveloperNotFoundException;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperShardMovingException;
 import com.testing.maxym.qafordevsreactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import com.testing.maxym.qafordevsreactive.exception.RequestDeadlineExceededException;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
 import org.springframework.http.HttpStatus;
@@ -41,6 +44,24 @@ public class AppErrorAttributes extends DefaultErrorAttributes {
             errorMap.put("code", ((ApiException) error).getErrorCode());
             errorMap.put("message", error.getMessage());
             errorList.add(errorMap);
+        } else if (error instanceof DeveloperShardMovingException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            var errorMap = new LinkedHashMap<String, Object>();
+            errorMap.put("code", ((ApiException) error).getErrorCode());
+            errorMap.put("message", error.getMessage());
+            errorList.add(errorMap);
+        } else if (error instanceof InvalidRequestParameterException) {
+            status = HttpStatus.BAD_REQUEST;
+            var errorMap = new LinkedHashMap<String, Object>();
+            errorMap.put("code", ((ApiException) error).getErrorCode());
+            errorMap.put("message", error.getMessage());
+            errorList.add(errorMap);
+        } else if (error instanceof RequestDeadlineExceededException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            var errorMap = new LinkedHashMap<String, Object>();
+            errorMap.put("code", ((ApiException) error).getErrorCode());
+            errorMap.put("message", error.getMessage());
+            errorList.add(errorMap);
         } else if (error instanceof ApiException) {
             status = HttpStatus.NOT_FOUND;
             var errorMap = new LinkedHashMap<String, Object>();
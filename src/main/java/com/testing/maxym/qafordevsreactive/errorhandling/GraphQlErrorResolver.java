@@ -0,0 +1,39 @@
+package com.testing.maxym.qafordevsreactive.errorhandling;
+
+import com.testing.maxym.qafordevsreactive.exception.ApiException;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperShardMovingException;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import com.testing.maxym.qafordevsreactive.exception.RequestDeadlineExceededException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+public class GraphQlErrorResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        if (!(ex instanceof ApiException apiException))
+            return null;
+
+        ErrorType errorType;
+        if (ex instanceof DeveloperWithEmailAlreadyExistsException || ex instanceof InvalidRequestParameterException)
+            errorType = ErrorType.BAD_REQUEST;
+        else if (ex instanceof DeveloperShardMovingException || ex instanceof RequestDeadlineExceededException)
+            errorType = ErrorType.INTERNAL_ERROR;
+        else
+            errorType = ErrorType.NOT_FOUND;
+
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(apiException.getMessage())
+                .extensions(Map.of("code", apiException.getErrorCode()))
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.testing.maxym.qafordevsreactive.exception;
+
+public class DeveloperShardMovingException extends ApiException {
+    public DeveloperShardMovingException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,7 @@
+package com.testing.maxym.qafordevsreactive.exception;
+
+public class InvalidRequestParameterException extends ApiException {
+    public InvalidRequestParameterException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
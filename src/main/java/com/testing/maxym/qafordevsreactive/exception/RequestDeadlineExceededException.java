@@ -0,0 +1,7 @@
+package com.testing.maxym.qafordevsreactive.exception;
+
+public class RequestDeadlineExceededException extends ApiException {
+    public RequestDeadlineExceededException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,82 @@
+package com.testing.maxym.qafordevsreactive.graphql;
+
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.service.DeveloperService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+public class DeveloperGraphQlController {
+
+    private final DeveloperService developerService;
+
+    public DeveloperGraphQlController(DeveloperService developerService, BatchLoaderRegistry batchLoaderRegistry) {
+        this.developerService = developerService;
+        batchLoaderRegistry.forTypePair(Integer.class, DeveloperDto.class)
+                .registerMappedBatchLoader((ids, environment) -> developerService.getDevelopersByIds(ids)
+                        .collectMap(DeveloperEntity::getId, DeveloperDto::fromEntity));
+    }
+
+    @QueryMapping
+    public CompletableFuture<DeveloperDto> developer(@Argument Integer id, DataLoader<Integer, DeveloperDto> developerLoader) {
+        return developerLoader.load(id);
+    }
+
+    @QueryMapping
+    public CompletableFuture<List<DeveloperDto>> developers(@Argument List<Integer> ids, DataLoader<Integer, DeveloperDto> developerLoader) {
+        return developerLoader.loadMany(ids);
+    }
+
+    @QueryMapping
+    public Flux<DeveloperDto> developersBySpecialty(@Argument String specialty, DataFetchingFieldSelectionSet selectionSet) {
+        var fields = DeveloperField.selectedBy(selectionSet.getImmediateFields().stream()
+                .map(SelectedField::getName)
+                .toList());
+        return developerService.getAllActiveBySpecialty(specialty, fields)
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MutationMapping
+    public Mono<DeveloperDto> createDeveloper(@Argument DeveloperDto input) {
+        return developerService.createDeveloper(input.toEntity())
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MutationMapping
+    public Mono<DeveloperDto> updateDeveloper(@Argument Integer id, @Argument DeveloperDto input) {
+        input.setId(id);
+        return developerService.updateDeveloper(input.toEntity())
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MutationMapping
+    public Mono<Boolean> softDeleteDeveloper(@Argument Integer id) {
+        return developerService.softDeleteDeveloperById(id)
+                .thenReturn(true);
+    }
+
+    @MutationMapping
+    public Mono<Boolean> hardDeleteDeveloper(@Argument Integer id) {
+        return developerService.hardDeleteDeveloperById(id)
+                .thenReturn(true);
+    }
+
+    @MutationMapping
+    public Mono<DeveloperDto> restoreDeveloper(@Argument Integer id) {
+        return developerService.restoreDeveloperById(id)
+                .map(DeveloperDto::fromEntity);
+    }
+}
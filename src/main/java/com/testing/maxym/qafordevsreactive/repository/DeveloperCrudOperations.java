@@ -0,0 +1,25 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface DeveloperCrudOperations extends DeveloperStreamingRepository {
+
+    <S extends DeveloperEntity> Mono<S> save(S developer);
+
+    Mono<DeveloperEntity> findById(Integer id);
+
+    Mono<Void> deleteById(Integer id);
+
+    Mono<DeveloperEntity> findByEmail(String email);
+
+    Mono<Long> countDeletedBefore(LocalDateTime deletedBefore);
+
+    Mono<Long> archiveDeletedBefore(LocalDateTime deletedBefore, int batchSize);
+
+    Mono<DeveloperEntity> findArchivedById(Integer id);
+
+    Mono<Long> restoreArchivedById(Integer id);
+}
@@ -0,0 +1,38 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+public final class DeveloperQueries {
+
+    public static final String COUNT_DELETED_BEFORE =
+            "SELECT count(*) FROM developers WHERE status = 'DELETED' AND deleted_at < :deletedBefore";
+
+    public static final String ARCHIVE_DELETED_BEFORE = """
+            WITH archiving AS (SELECT set_config('app.archiving', 'on', true)),
+            moved AS (
+                DELETE FROM developers
+                WHERE id IN (SELECT id FROM developers
+                             WHERE status = 'DELETED' AND deleted_at < :deletedBefore
+                               AND EXISTS (SELECT 1 FROM archiving)
+                             ORDER BY deleted_at
+                             LIMIT :batchSize
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING id, email, first_name, last_name, specialty, status, deleted_at)
+            INSERT INTO developers_archive (id, email, first_name, last_name, specialty, status, deleted_at)
+            SELECT id, email, first_name, last_name, specialty, status, deleted_at FROM moved
+            """;
+
+    public static final String FIND_ARCHIVED_BY_ID =
+            "SELECT id, email, first_name, last_name, specialty, status, deleted_at FROM developers_archive WHERE id = :id";
+
+    public static final String RESTORE_ARCHIVED_BY_ID = """
+            WITH restoring AS (SELECT set_config('app.restoring', CAST(:id AS text), true)),
+            restored AS (
+                DELETE FROM developers_archive
+                WHERE id = :id AND EXISTS (SELECT 1 FROM restoring)
+                RETURNING id, email, first_name, last_name, specialty)
+            INSERT INTO developers (id, email, first_name, last_name, specialty, status)
+            SELECT id, email, first_name, last_name, specialty, 'ACTIVE' FROM restored
+            """;
+
+    private DeveloperQueries() {
+    }
+}
@@ -1,15 +1,37 @@
 package com.testing.maxym.qafordevsreactive.repository;
 
 import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface DeveloperRepository extends R2dbcRepository<DeveloperEntity, Integer> {
+import java.time.LocalDateTime;
 
+public interface DeveloperRepository extends R2dbcRepository<DeveloperEntity, Integer>, DeveloperStreamingRepository, DeveloperCrudOperations {
+
+    @Override
     Mono<DeveloperEntity> findByEmail(String email);
 
-    @Query("SELECT d FROM developers d WHERE d.status = 'ACTIVE' AND d.specialty = ?1")
+    @Query("SELECT * FROM developers WHERE status = 'ACTIVE' AND specialty = :specialty")
     Flux<DeveloperEntity> findAllActiveBySpecialty(String specialty);
+
+    @Override
+    @Query(DeveloperQueries.COUNT_DELETED_BEFORE)
+    Mono<Long> countDeletedBefore(LocalDateTime deletedBefore);
+
+    @Override
+    @Modifying
+    @Query(DeveloperQueries.ARCHIVE_DELETED_BEFORE)
+    Mono<Long> archiveDeletedBefore(LocalDateTime deletedBefore, int batchSize);
+
+    @Override
+    @Query(DeveloperQueries.FIND_ARCHIVED_BY_ID)
+    Mono<DeveloperEntity> findArchivedById(Integer id);
+
+    @Override
+    @Modifying
+    @Query(DeveloperQueries.RESTORE_ARCHIVED_BY_ID)
+    Mono<Long> restoreArchivedById(Integer id);
 }
@@ -0,0 +1,328 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.config.DeveloperShards;
+import com.testing.maxym.qafordevsreactive.config.ShardingProperties;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperShardMovingException;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.CRC32;
+
+@Component
+@ConditionalOnProperty(prefix = "app.r2dbc.sharding", name = "enabled", havingValue = "true")
+public class DeveloperShardDirectory {
+
+    private static final Duration STALE_CLAIM_AGE = Duration.ofMinutes(1);
+
+    public enum BucketState {
+        ACTIVE, MOVING, FROZEN
+    }
+
+    public record BucketAssignment(int bucket, int shard, BucketState state, Integer targetShard, Integer cleanupShard) {
+    }
+
+    private final DatabaseClient databaseClient;
+    private final ShardingProperties properties;
+    private final int bucketMask;
+    private final int bucketBits;
+    private final Mono<Void> initialized;
+    private final Object idLock = new Object();
+
+    private volatile boolean bucketsSeeded;
+    private volatile Mono<int[]> bucketMap;
+    private long nextSequence;
+    private long sequenceLimit;
+    private Mono<Void> idBlockRefill;
+
+    public DeveloperShardDirectory(DatabaseClient databaseClient, ShardingProperties properties, DeveloperShards shards) {
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+        this.bucketMask = properties.getBuckets() - 1;
+        this.bucketBits = Integer.numberOfTrailingZeros(properties.getBuckets());
+        var seedBuckets = databaseClient.sql("""
+                        INSERT INTO developer_shard_buckets (bucket, shard)
+                        SELECT bucket, bucket % :shards FROM generate_series(0, :lastBucket) bucket
+                        ON CONFLICT (bucket) DO NOTHING
+                        """)
+                .bind("shards", shards.count())
+                .bind("lastBucket", bucketMask)
+                .fetch()
+                .rowsUpdated()
+                .doOnSuccess(seeded -> bucketsSeeded = true)
+                .then();
+        this.initialized = Mono.defer(() -> bucketsSeeded ? Mono.empty() : seedBuckets);
+        this.bucketMap = loadBucketMap();
+    }
+
+    public int buckets() {
+        return bucketMask + 1;
+    }
+
+    public int bucketOf(int developerId) {
+        return developerId & bucketMask;
+    }
+
+    public int bucketForEmail(String email) {
+        return (int) (emailHash(email) & bucketMask);
+    }
+
+    public Mono<int[]> bucketMap() {
+        return bucketMap;
+    }
+
+    public Mono<Integer> shardFor(int developerId) {
+        return bucketMap.map(map -> map[bucketOf(developerId)]);
+    }
+
+    public Mono<Integer> writableShardFor(int developerId) {
+        return assignment(bucketOf(developerId))
+                .flatMap(assignment -> assignment.state() == BucketState.FROZEN
+                        ? Mono.<Integer>error(new DeveloperShardMovingException("Developer shard bucket is being moved, retry later", "DEVELOPER_SHARD_MOVING"))
+                        : Mono.just(assignment.shard()))
+                .retryWhen(Retry.backoff(properties.getFrozenWriteRetries(), Duration.ofMillis(50))
+                        .maxBackoff(Duration.ofMillis(500))
+                        .filter(DeveloperShardMovingException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    public Mono<Integer> nextId(int bucket) {
+        return Mono.defer(() -> {
+            synchronized (idLock) {
+                if (nextSequence < sequenceLimit)
+                    return Mono.just(encodeId(nextSequence++, bucket));
+            }
+            return allocateIdBlock().then(nextId(bucket));
+        });
+    }
+
+    public Mono<Integer> findIdByEmail(String email) {
+        return databaseClient.sql("SELECT developer_id FROM developer_emails WHERE email_hash = :hash AND email = :email")
+                .bind("hash", emailHash(email))
+                .bind("email", email)
+                .map(row -> row.get("developer_id", Integer.class))
+                .one();
+    }
+
+    public Mono<Integer> claimEmail(String email, int developerId) {
+        return databaseClient.sql("""
+                        INSERT INTO developer_emails (email_hash, email, developer_id)
+                        VALUES (:hash, :email, :developerId)
+                        ON CONFLICT (email_hash, email) DO NOTHING
+                        """)
+                .bind("hash", emailHash(email))
+                .bind("email", email)
+                .bind("developerId", developerId)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(inserted -> inserted > 0 ? Mono.just(developerId) : findIdByEmail(email));
+    }
+
+    public Mono<Boolean> transferStaleEmail(String email, int fromDeveloperId, int toDeveloperId) {
+        return databaseClient.sql("""
+                        UPDATE developer_emails
+                        SET developer_id = :to, claimed_at = now()
+                        WHERE email_hash = :hash AND email = :email AND developer_id = :from
+                          AND claimed_at < now() - make_interval(secs => :staleSeconds)
+                        """)
+                .bind("to", toDeveloperId)
+                .bind("hash", emailHash(email))
+                .bind("email", email)
+                .bind("from", fromDeveloperId)
+                .bind("staleSeconds", (double) STALE_CLAIM_AGE.toSeconds())
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    public Mono<Void> releaseEmail(String email, int developerId) {
+        return databaseClient.sql("DELETE FROM developer_emails WHERE email_hash = :hash AND email = :email AND developer_id = :developerId")
+                .bind("hash", emailHash(email))
+                .bind("email", email)
+                .bind("developerId", developerId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    public Flux<BucketAssignment> assignments() {
+        return initialized.thenMany(databaseClient.sql("SELECT bucket, shard, state, target_shard, cleanup_shard FROM developer_shard_buckets ORDER BY bucket")
+                .map(DeveloperShardDirectory::readAssignment)
+                .all());
+    }
+
+    public Mono<BucketAssignment> assignment(int bucket) {
+        return initialized.then(databaseClient.sql("SELECT bucket, shard, state, target_shard, cleanup_shard FROM developer_shard_buckets WHERE bucket = :bucket")
+                .bind("bucket", bucket)
+                .map(DeveloperShardDirectory::readAssignment)
+                .one());
+    }
+
+    public Mono<Boolean> beginMove(int bucket, int sourceShard, int targetShard) {
+        return databaseClient.sql("""
+                        UPDATE developer_shard_buckets
+                        SET state = 'MOVING', target_shard = :target, updated_at = now()
+                        WHERE bucket = :bucket AND shard = :source AND state = 'ACTIVE' AND cleanup_shard IS NULL
+                        """)
+                .bind("target", targetShard)
+                .bind("bucket", bucket)
+                .bind("source", sourceShard)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    public Mono<Void> freeze(int bucket) {
+        return updateBucket("UPDATE developer_shard_buckets SET state = 'FROZEN', updated_at = now() WHERE bucket = :bucket", bucket);
+    }
+
+    public Mono<Boolean> completeMove(int bucket, Duration cleanupDelay) {
+        return databaseClient.sql("""
+                        UPDATE developer_shard_buckets
+                        SET shard = target_shard, state = 'FROZEN', target_shard = NULL,
+                            cleanup_shard = shard, cleanup_after = now() + make_interval(secs => :cleanupDelaySeconds),
+                            updated_at = now()
+                        WHERE bucket = :bucket AND state = 'FROZEN' AND target_shard IS NOT NULL
+                        """)
+                .bind("cleanupDelaySeconds", cleanupDelay.toMillis() / 1000.0)
+                .bind("bucket", bucket)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    public Mono<Boolean> activateMoved(int bucket) {
+        return databaseClient.sql("""
+                        UPDATE developer_shard_buckets SET state = 'ACTIVE', updated_at = now()
+                        WHERE bucket = :bucket AND state = 'FROZEN' AND target_shard IS NULL
+                        """)
+                .bind("bucket", bucket)
+                .fetch()
+                .rowsUpdated()
+                .map(updated -> updated > 0);
+    }
+
+    public Mono<Long> activateSettledMoves() {
+        return databaseClient.sql("""
+                        UPDATE developer_shard_buckets SET state = 'ACTIVE', updated_at = now()
+                        WHERE state = 'FROZEN' AND target_shard IS NULL
+                          AND updated_at <= now() - make_interval(secs => :refreshSeconds)
+                        """)
+                .bind("refreshSeconds", properties.getBucketMapRefreshInterval().toMillis() / 1000.0)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<BucketAssignment> dueCleanups() {
+        return initialized.thenMany(databaseClient.sql("""
+                        SELECT bucket, shard, state, target_shard, cleanup_shard FROM developer_shard_buckets
+                        WHERE cleanup_shard IS NOT NULL AND cleanup_after <= now()
+                        ORDER BY bucket
+                        """)
+                .map(DeveloperShardDirectory::readAssignment)
+                .all());
+    }
+
+    public Mono<Void> completeCleanup(int bucket, int cleanupShard) {
+        return databaseClient.sql("""
+                        UPDATE developer_shard_buckets
+                        SET cleanup_shard = NULL, cleanup_after = NULL, updated_at = now()
+                        WHERE bucket = :bucket AND cleanup_shard = :cleanupShard
+                        """)
+                .bind("bucket", bucket)
+                .bind("cleanupShard", cleanupShard)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    public Mono<Void> abortMove(int bucket) {
+        return updateBucket("""
+                UPDATE developer_shard_buckets SET state = 'ACTIVE', target_shard = NULL, updated_at = now()
+                WHERE bucket = :bucket AND target_shard IS NOT NULL
+                """, bucket);
+    }
+
+    public Mono<Boolean> isMoving(int shard) {
+        return initialized.then(databaseClient.sql("""
+                        SELECT count(*) AS moving FROM developer_shard_buckets
+                        WHERE state <> 'ACTIVE' AND (shard = :shard OR target_shard = :shard)
+                        """)
+                .bind("shard", shard)
+                .map(row -> row.get("moving", Long.class))
+                .one()
+                .map(moving -> moving > 0));
+    }
+
+    public void invalidate() {
+        bucketMap = loadBucketMap();
+    }
+
+    public static long emailHash(String email) {
+        var crc = new CRC32();
+        crc.update(email.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private Mono<Void> updateBucket(String sql, int bucket) {
+        return databaseClient.sql(sql)
+                .bind("bucket", bucket)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private Mono<int[]> loadBucketMap() {
+        return initialized.then(databaseClient.sql("SELECT bucket, shard FROM developer_shard_buckets")
+                        .map(row -> new int[]{row.get("bucket", Integer.class), row.get("shard", Integer.class)})
+                        .all()
+                        .filter(entry -> entry[0] <= bucketMask)
+                        .collect(() -> new int[bucketMask + 1], (map, entry) -> map[entry[0]] = entry[1]))
+                .cache(value -> properties.getBucketMapRefreshInterval(), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private Mono<Void> allocateIdBlock() {
+        synchronized (idLock) {
+            if (idBlockRefill == null)
+                idBlockRefill = databaseClient.sql("SELECT nextval('developer_id_blocks') AS block")
+                        .map(row -> row.get("block", Long.class))
+                        .one()
+                        .doOnNext(block -> {
+                            synchronized (idLock) {
+                                nextSequence = block * properties.getIdBlockSize();
+                                sequenceLimit = nextSequence + properties.getIdBlockSize();
+                            }
+                        })
+                        .doOnTerminate(() -> {
+                            synchronized (idLock) {
+                                idBlockRefill = null;
+                            }
+                        })
+                        .then()
+                        .cache();
+            return idBlockRefill;
+        }
+    }
+
+    private int encodeId(long sequence, int bucket) {
+        try {
+            return Math.toIntExact((sequence << bucketBits) | bucket);
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("Developer id space exhausted for " + (bucketMask + 1) + " buckets", e);
+        }
+    }
+
+    private static BucketAssignment readAssignment(Readable row) {
+        return new BucketAssignment(row.get("bucket", Integer.class),
+                row.get("shard", Integer.class),
+                BucketState.valueOf(row.get("state", String.class)),
+                row.get("target_shard", Integer.class),
+                row.get("cleanup_shard", Integer.class));
+    }
+}
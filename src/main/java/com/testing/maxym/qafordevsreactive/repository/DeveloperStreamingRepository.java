@@ -0,0 +1,27 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface DeveloperStreamingRepository {
+
+    Flux<DeveloperEntity> streamAll();
+
+    Flux<DeveloperEntity> streamAll(Set<DeveloperField> fields);
+
+    Flux<DeveloperEntity> streamAllActiveBySpecialty(String specialty);
+
+    Flux<DeveloperEntity> streamAllActiveBySpecialty(String specialty, Set<DeveloperField> fields);
+
+    Mono<DeveloperEntity> findProjectedById(Integer id, Set<DeveloperField> fields);
+
+    Flux<DeveloperEntity> streamAllByIds(Collection<Integer> ids);
+
+    Flux<DeveloperEntity> streamAllMatching(DeveloperFilter filter, Set<DeveloperField> fields);
+}
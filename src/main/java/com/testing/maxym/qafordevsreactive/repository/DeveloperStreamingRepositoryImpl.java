@@ -0,0 +1,119 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.config.StreamingProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.PreparedOperation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static java.util.Objects.nonNull;
+
+@RequiredArgsConstructor
+public class DeveloperStreamingRepositoryImpl implements DeveloperStreamingRepository {
+
+    private static final String TABLE = "developers";
+
+    private final R2dbcEntityTemplate template;
+    private final StreamingProperties properties;
+
+    @Override
+    public Flux<DeveloperEntity> streamAll() {
+        return stream(template.getDatabaseClient()
+                        .sql("SELECT * FROM developers"),
+                properties.fetchSizeFor("findAll"));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAll(Set<DeveloperField> fields) {
+        return stream(projected(fields, Criteria.empty()), properties.fetchSizeFor("findAll"));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllActiveBySpecialty(String specialty) {
+        return stream(template.getDatabaseClient()
+                        .sql("SELECT * FROM developers WHERE status = 'ACTIVE' AND specialty = :specialty")
+                        .bind("specialty", specialty),
+                properties.fetchSizeFor("findAllActiveBySpecialty"));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllActiveBySpecialty(String specialty, Set<DeveloperField> fields) {
+        return stream(projected(fields, Criteria.where("status").is(Status.ACTIVE.name()).and("specialty").is(specialty)),
+                properties.fetchSizeFor("findAllActiveBySpecialty"));
+    }
+
+    @Override
+    public Mono<DeveloperEntity> findProjectedById(Integer id, Set<DeveloperField> fields) {
+        var converter = template.getConverter();
+        return projected(fields, Criteria.where("id").is(id))
+                .map((row, metadata) -> converter.read(DeveloperEntity.class, row, metadata))
+                .one();
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllByIds(Collection<Integer> ids) {
+        if (ids.isEmpty())
+            return Flux.empty();
+        return stream(template.getDatabaseClient()
+                        .sql("SELECT * FROM developers WHERE id = ANY(:ids)")
+                        .bind("ids", ids.toArray(Integer[]::new)),
+                properties.fetchSizeFor("findAllByIds"));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllMatching(DeveloperFilter filter, Set<DeveloperField> fields) {
+        return stream(template.getDatabaseClient().sql(matchingQuery(filter, fields)),
+                properties.fetchSizeFor("findAllMatching"));
+    }
+
+    PreparedOperation<?> matchingQuery(DeveloperFilter filter, Set<DeveloperField> fields) {
+        var criteria = Criteria.empty();
+        if (nonNull(filter.getStatus()))
+            criteria = criteria.and("status").is(filter.getStatus().name());
+        if (nonNull(filter.getSpecialties()))
+            criteria = filter.getSpecialties().size() == 1
+                    ? criteria.and("specialty").is(filter.getSpecialties().get(0))
+                    : criteria.and("specialty").in(filter.getSpecialties());
+        if (nonNull(filter.getLastNamePrefix()))
+            criteria = criteria.and("lastName").like(escapeLike(filter.getLastNamePrefix()) + "%");
+        return select(fields, criteria, filter.getSort().getSort());
+    }
+
+    private DatabaseClient.GenericExecuteSpec projected(Set<DeveloperField> fields, Criteria criteria) {
+        return template.getDatabaseClient().sql(select(fields, criteria, Sort.unsorted()));
+    }
+
+    private PreparedOperation<?> select(Set<DeveloperField> fields, Criteria criteria, Sort sort) {
+        var mapper = template.getDataAccessStrategy().getStatementMapper().forType(DeveloperEntity.class);
+        var select = mapper.createSelect(TABLE)
+                .withProjection(fields.stream().map(field -> SqlIdentifier.unquoted(field.getColumn())).toList())
+                .withCriteria(criteria)
+                .withSort(sort);
+        return mapper.getMappedObject(select);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private Flux<DeveloperEntity> stream(DatabaseClient.GenericExecuteSpec spec, int fetchSize) {
+        var converter = template.getConverter();
+        return spec.filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> converter.read(DeveloperEntity.class, row, metadata))
+                .all();
+    }
+}
@@ -0,0 +1,262 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.config.DeveloperShards;
+import com.testing.maxym.qafordevsreactive.config.StreamingProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperSort;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperNotFoundException;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperWithEmailAlreadyExistsException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "app.r2dbc.sharding", name = "enabled", havingValue = "true")
+public class ShardedDeveloperRepository implements DeveloperCrudOperations {
+
+    private final DeveloperShards shards;
+    private final DeveloperShardDirectory directory;
+    private final List<DeveloperStreamingRepository> streamingRepositories;
+
+    public ShardedDeveloperRepository(DeveloperShards shards, DeveloperShardDirectory directory, StreamingProperties streamingProperties) {
+        this.shards = shards;
+        this.directory = directory;
+        this.streamingRepositories = shards.templates().stream()
+                .<DeveloperStreamingRepository>map(template -> new DeveloperStreamingRepositoryImpl(template, streamingProperties))
+                .toList();
+    }
+
+    @Override
+    public <S extends DeveloperEntity> Mono<S> save(S developer) {
+        return developer.isNew() ? insert(developer) : update(developer);
+    }
+
+    @Override
+    public Mono<DeveloperEntity> findById(Integer id) {
+        return directory.shardFor(id)
+                .flatMap(shard -> shards.template(shard).selectOne(query(where("id").is(id)), DeveloperEntity.class));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Integer id) {
+        return directory.writableShardFor(id)
+                .flatMap(shard -> shards.template(shard).getDatabaseClient()
+                        .sql("DELETE FROM developers WHERE id = :id RETURNING email")
+                        .bind("id", id)
+                        .map(row -> Optional.ofNullable(row.get("email", String.class)))
+                        .one())
+                .flatMap(email -> email.map(value -> directory.releaseEmail(value, id)).orElseGet(Mono::empty));
+    }
+
+    @Override
+    public Mono<DeveloperEntity> findByEmail(String email) {
+        return directory.findIdByEmail(email)
+                .flatMap(this::findById)
+                .filter(developer -> email.equals(developer.getEmail()));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAll() {
+        return fanOut(DeveloperStreamingRepository::streamAll);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAll(Set<DeveloperField> fields) {
+        var withId = withId(fields);
+        return fanOut(repository -> repository.streamAll(withId));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllActiveBySpecialty(String specialty) {
+        return fanOut(repository -> repository.streamAllActiveBySpecialty(specialty));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllActiveBySpecialty(String specialty, Set<DeveloperField> fields) {
+        var withId = withId(fields);
+        return fanOut(repository -> repository.streamAllActiveBySpecialty(specialty, withId));
+    }
+
+    @Override
+    public Mono<DeveloperEntity> findProjectedById(Integer id, Set<DeveloperField> fields) {
+        return directory.shardFor(id)
+                .flatMap(shard -> streamingRepositories.get(shard).findProjectedById(id, fields));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllByIds(Collection<Integer> ids) {
+        return directory.bucketMap()
+                .flatMapMany(bucketMap -> Flux.fromIterable(ids.stream()
+                                .collect(Collectors.groupingBy(id -> bucketMap[directory.bucketOf(id)]))
+                                .entrySet())
+                        .flatMap(shardIds -> streamingRepositories.get(shardIds.getKey()).streamAllByIds(shardIds.getValue())));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> streamAllMatching(DeveloperFilter filter, Set<DeveloperField> fields) {
+        var withSortKeys = withId(fields);
+        if (filter.getSort() == DeveloperSort.LAST_NAME || filter.getSort() == DeveloperSort.LAST_NAME_DESC)
+            withSortKeys.add(DeveloperField.LAST_NAME);
+        return fanOutSorted(repository -> repository.streamAllMatching(filter, withSortKeys), filter.getSort().getComparator());
+    }
+
+    @Override
+    public Mono<Long> countDeletedBefore(LocalDateTime deletedBefore) {
+        return Flux.fromIterable(shards.templates())
+                .flatMap(template -> template.getDatabaseClient()
+                        .sql(DeveloperQueries.COUNT_DELETED_BEFORE)
+                        .bind("deletedBefore", deletedBefore)
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<Long> archiveDeletedBefore(LocalDateTime deletedBefore, int batchSize) {
+        return Flux.range(0, shards.count())
+                .concatMap(shard -> directory.isMoving(shard)
+                        .flatMap(moving -> moving
+                                ? Mono.just(0L)
+                                : shards.template(shard).getDatabaseClient()
+                                .sql(DeveloperQueries.ARCHIVE_DELETED_BEFORE)
+                                .bind("deletedBefore", deletedBefore)
+                                .bind("batchSize", batchSize)
+                                .fetch()
+                                .rowsUpdated()))
+                .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Mono<DeveloperEntity> findArchivedById(Integer id) {
+        return directory.shardFor(id)
+                .flatMap(shard -> {
+                    var template = shards.template(shard);
+                    return template.getDatabaseClient()
+                            .sql(DeveloperQueries.FIND_ARCHIVED_BY_ID)
+                            .bind("id", id)
+                            .map((row, metadata) -> template.getConverter().read(DeveloperEntity.class, row, metadata))
+                            .one();
+                });
+    }
+
+    @Override
+    public Mono<Long> restoreArchivedById(Integer id) {
+        return findArchivedById(id)
+                .flatMap(archived -> claimEmail(archived.getEmail(), id))
+                .then(directory.writableShardFor(id))
+                .flatMap(shard -> shards.template(shard).getDatabaseClient()
+                        .sql(DeveloperQueries.RESTORE_ARCHIVED_BY_ID)
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    private <S extends DeveloperEntity> Mono<S> insert(S developer) {
+        var email = developer.getEmail();
+        var bucket = isNull(email)
+                ? ThreadLocalRandom.current().nextInt(directory.buckets())
+                : directory.bucketForEmail(email);
+        return directory.nextId(bucket)
+                .flatMap(id -> claimEmail(email, id)
+                        .then(directory.writableShardFor(id))
+                        .flatMap(shard -> {
+                            developer.setId(id);
+                            return shards.template(shard).insert(developer);
+                        })
+                        .onErrorResume(e -> {
+                            developer.setId(null);
+                            return releaseEmail(email, id).then(Mono.error(e));
+                        }));
+    }
+
+    private <S extends DeveloperEntity> Mono<S> update(S developer) {
+        var id = developer.getId();
+        return directory.writableShardFor(id)
+                .flatMap(shard -> {
+                    R2dbcEntityTemplate template = shards.template(shard);
+                    return template.select(DeveloperEntity.class)
+                            .matching(query(where("id").is(id)).columns("email"))
+                            .one()
+                            .flatMap(current -> Objects.equals(current.getEmail(), developer.getEmail())
+                                    ? template.update(developer)
+                                    : claimEmail(developer.getEmail(), id)
+                                    .then(template.update(developer))
+                                    .flatMap(updated -> releaseEmail(current.getEmail(), id).thenReturn(updated)))
+                            .switchIfEmpty(Mono.error(() -> new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")));
+                });
+    }
+
+    private Mono<Void> claimEmail(String email, int id) {
+        if (isNull(email))
+            return Mono.empty();
+        return directory.claimEmail(email, id)
+                .flatMap(owner -> {
+                    if (owner == id)
+                        return Mono.empty();
+                    return findById(owner)
+                            .filter(existing -> email.equals(existing.getEmail()))
+                            .flatMap(existing -> Mono.<Void>error(duplicateEmail()))
+                            .switchIfEmpty(Mono.defer(() -> directory.transferStaleEmail(email, owner, id)
+                                    .flatMap(transferred -> transferred ? Mono.<Void>empty() : Mono.error(duplicateEmail()))));
+                });
+    }
+
+    private Mono<Void> releaseEmail(String email, int id) {
+        if (isNull(email))
+            return Mono.empty();
+        return directory.releaseEmail(email, id);
+    }
+
+    private Flux<DeveloperEntity> fanOut(Function<DeveloperStreamingRepository, Flux<DeveloperEntity>> query) {
+        return directory.bucketMap()
+                .flatMapMany(bucketMap -> Flux.merge(shardQueries(bucketMap, query)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Flux<DeveloperEntity> fanOutSorted(Function<DeveloperStreamingRepository, Flux<DeveloperEntity>> query,
+                                               Comparator<DeveloperEntity> comparator) {
+        return directory.bucketMap()
+                .flatMapMany(bucketMap -> Flux.mergeComparing(comparator,
+                        shardQueries(bucketMap, query).toArray(Flux[]::new)));
+    }
+
+    private List<Flux<DeveloperEntity>> shardQueries(int[] bucketMap, Function<DeveloperStreamingRepository, Flux<DeveloperEntity>> query) {
+        return IntStream.range(0, streamingRepositories.size())
+                .mapToObj(shard -> query.apply(streamingRepositories.get(shard))
+                        .filter(developer -> bucketMap[directory.bucketOf(developer.getId())] == shard))
+                .toList();
+    }
+
+    private static Set<DeveloperField> withId(Set<DeveloperField> fields) {
+        var withId = EnumSet.copyOf(fields);
+        withId.add(DeveloperField.ID);
+        return withId;
+    }
+
+    private static DeveloperWithEmailAlreadyExistsException duplicateEmail() {
+        return new DeveloperWithEmailAlreadyExistsException("Developer with defined email is already exists", "DEVELOPER_DUPLICATE_EMAIL");
+    }
+}
@@ -1,47 +1,108 @@
 package com.testing.maxym.qafordevsreactive.rest;
 
+import com.testing.maxym.qafordevsreactive.dto.BulkRequestDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResponseDto;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
 import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import com.testing.maxym.qafordevsreactive.service.DeveloperBulkService;
 import com.testing.maxym.qafordevsreactive.service.DeveloperService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 @RestController
 @RequestMapping("/api/v1/developers")
 @RequiredArgsConstructor
 public class DeveloperRestControllerV1 {
 
     private final DeveloperService developerService;
+    private final DeveloperBulkService developerBulkService;
 
     @PostMapping
     public Mono<?> createDeveloper(@RequestBody DeveloperDto developerDto) {
         return developerService.createDeveloper(developerDto.toEntity())
-                .flatMap(entity -> Mono.just(DeveloperDto.fromEntity(entity)));
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @PostMapping("/_bulk")
+    public Mono<BulkResponseDto> executeBulk(@RequestBody BulkRequestDto bulkRequestDto) {
+        return developerBulkService.executeBulk(bulkRequestDto);
     }
 
     @PutMapping
     public Mono<?> updateDeveloper(@RequestBody DeveloperDto developerDto) {
         return developerService.updateDeveloper(developerDto.toEntity())
-                .flatMap(entity -> Mono.just(DeveloperDto.fromEntity(entity)));
+                .map(DeveloperDto::fromEntity);
     }
 
     @GetMapping
-    public Flux<?> getAllDevelopers() {
-        return developerService.getAllDevelopers()
-                .flatMap(entity -> Mono.just(DeveloperDto.fromEntity(entity)));
+    public Flux<?> getAllDevelopers(@RequestParam(value = "fields", required = false) String fields,
+                                    @RequestParam(value = "status", required = false) String status,
+                                    @RequestParam(value = "specialty", required = false) List<String> specialties,
+                                    @RequestParam(value = "lastNamePrefix", required = false) String lastNamePrefix,
+                                    @RequestParam(value = "sort", required = false) String sort) {
+        if (nonNull(status) || nonNull(specialties) || nonNull(lastNamePrefix) || nonNull(sort)) {
+            var filter = DeveloperFilter.of(status, specialties, lastNamePrefix, sort);
+            if (isNull(fields))
+                return developerService.getAllDevelopers(filter, DeveloperField.ALL)
+                        .map(DeveloperDto::fromEntity);
+            var projection = DeveloperField.parse(fields);
+            return developerService.getAllDevelopers(filter, projection)
+                    .map(entity -> DeveloperField.project(entity, projection));
+        }
+        if (isNull(fields))
+            return developerService.getAllDevelopers()
+                    .map(DeveloperDto::fromEntity);
+        var projection = DeveloperField.parse(fields);
+        return developerService.getAllDevelopers(projection)
+                .map(entity -> DeveloperField.project(entity, projection));
     }
 
     @GetMapping("/specialty/{specialty}")
-    public Flux<?> getAllDevelopersBySpecialty(@PathVariable("specialty") String speciality) {
-        return developerService.getAllActiveBySpecialty(speciality)
-                .flatMap(entity -> Mono.just(DeveloperDto.fromEntity(entity)));
+    public Flux<?> getAllDevelopersBySpecialty(@PathVariable("specialty") String speciality,
+                                               @RequestParam(value = "fields", required = false) String fields) {
+        if (isNull(fields))
+            return developerService.getAllActiveBySpecialty(speciality)
+                    .map(DeveloperDto::fromEntity);
+        var projection = DeveloperField.parse(fields);
+        return developerService.getAllActiveBySpecialty(speciality, projection)
+                .map(entity -> DeveloperField.project(entity, projection));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DeveloperChangeEvent>> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                                                                     @RequestParam(value = "lastEventId", required = false) Long lastEventId) {
+        return developerService.getChanges(lastEventId != null ? lastEventId : lastEventIdHeader)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(isNull(event.getEventId()) ? null : String.valueOf(event.getEventId()))
+                        .event(event.getOperation().name())
+                        .build());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeveloperChangeEvent> streamChangesAsNdjson(@RequestParam(value = "lastEventId", required = false) Long lastEventId) {
+        return developerService.getChanges(lastEventId);
     }
 
     @GetMapping("/{id}")
-    public Mono<?> getDeveloperById(@PathVariable("id") Integer id) {
-        return developerService.getDeveloperById(id)
-                .flatMap(entity -> Mono.just(DeveloperDto.fromEntity(entity)));
+    public Mono<?> getDeveloperById(@PathVariable("id") Integer id,
+                                    @RequestParam(value = "fields", required = false) String fields) {
+        if (isNull(fields))
+            return developerService.getDeveloperById(id)
+                    .map(DeveloperDto::fromEntity);
+        var projection = DeveloperField.parse(fields);
+        return developerService.getDeveloperById(id, projection)
+                .map(entity -> DeveloperField.project(entity, projection));
     }
 
     @DeleteMapping("/{id}")
@@ -52,4 +113,10 @@ public class DeveloperRestControllerV1 {
         }
         return developerService.softDeleteDeveloperById(id);
     }
+
+    @PostMapping("/{id}/restore")
+    public Mono<?> restoreDeveloperById(@PathVariable("id") Integer id) {
+        return developerService.restoreDeveloperById(id)
+                .map(DeveloperDto::fromEntity);
+    }
 }
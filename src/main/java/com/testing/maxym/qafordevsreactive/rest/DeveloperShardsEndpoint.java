@@ -0,0 +1,35 @@
+package com.testing.maxym.qafordevsreactive.rest;
+
+import com.testing.maxym.qafordevsreactive.repository.DeveloperShardDirectory;
+import com.testing.maxym.qafordevsreactive.service.DeveloperBucketMover;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.r2dbc.sharding", name = "enabled", havingValue = "true")
+public class DeveloperShardsEndpoint {
+
+    private final DeveloperShardDirectory directory;
+    private final DeveloperBucketMover bucketMover;
+
+    @ReadOperation
+    public Mono<List<DeveloperShardDirectory.BucketAssignment>> buckets() {
+        return directory.assignments().collectList();
+    }
+
+    @WriteOperation
+    public Mono<Map<String, Object>> moveBucket(int bucket, int targetShard) {
+        return bucketMover.moveBucket(bucket, targetShard)
+                .map(copiedRows -> Map.of("bucket", bucket, "targetShard", targetShard, "copiedRows", copiedRows));
+    }
+}
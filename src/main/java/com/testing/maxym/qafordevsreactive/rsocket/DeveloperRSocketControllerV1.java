@@ -0,0 +1,72 @@
+package com.testing.maxym.qafordevsreactive.rsocket;
+
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.exception.ApiException;
+import com.testing.maxym.qafordevsreactive.service.DeveloperService;
+import io.rsocket.exceptions.ApplicationErrorException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@MessageMapping("api.v1.developers")
+@RequiredArgsConstructor
+public class DeveloperRSocketControllerV1 {
+
+    private final DeveloperService developerService;
+
+    @MessageMapping("create")
+    public Mono<DeveloperDto> createDeveloper(DeveloperDto developerDto) {
+        return developerService.createDeveloper(developerDto.toEntity())
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MessageMapping("update")
+    public Mono<DeveloperDto> updateDeveloper(DeveloperDto developerDto) {
+        return developerService.updateDeveloper(developerDto.toEntity())
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MessageMapping("all")
+    public Flux<DeveloperDto> getAllDevelopers() {
+        return developerService.getAllDevelopers()
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MessageMapping("specialty.{specialty}")
+    public Flux<DeveloperDto> getAllDevelopersBySpecialty(@DestinationVariable("specialty") String specialty) {
+        return developerService.getAllActiveBySpecialty(specialty)
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MessageMapping("get")
+    public Mono<DeveloperDto> getDeveloperById(Integer id) {
+        return developerService.getDeveloperById(id)
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MessageMapping("delete")
+    public Mono<Void> softDeleteDeveloperById(Integer id) {
+        return developerService.softDeleteDeveloperById(id);
+    }
+
+    @MessageMapping("delete.hard")
+    public Mono<Void> hardDeleteDeveloperById(Integer id) {
+        return developerService.hardDeleteDeveloperById(id);
+    }
+
+    @MessageMapping("bulk-create")
+    public Flux<DeveloperDto> createDevelopers(Flux<DeveloperDto> developerDtos) {
+        return developerDtos.concatMap(developerDto -> developerService.createDeveloper(developerDto.toEntity()))
+                .map(DeveloperDto::fromEntity);
+    }
+
+    @MessageExceptionHandler(ApiException.class)
+    public Mono<Void> handleApiException(ApiException e) {
+        return Mono.error(new ApplicationErrorException(e.getErrorCode() + ": " + e.getMessage()));
+    }
+}
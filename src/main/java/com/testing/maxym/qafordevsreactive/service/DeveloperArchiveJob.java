@@ -0,0 +1,88 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.ArchiveProperties;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperCrudOperations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeveloperArchiveJob {
+
+    private final DeveloperCrudOperations developerRepository;
+    private final ArchiveProperties properties;
+    private final Counter archivedRows;
+    private final Counter archivedBatches;
+    private final Timer runTimer;
+    private final AtomicLong pendingRows = new AtomicLong();
+
+    private Disposable schedule;
+
+    public DeveloperArchiveJob(DeveloperCrudOperations developerRepository, ArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.developerRepository = developerRepository;
+        this.properties = properties;
+        this.archivedRows = meterRegistry.counter("developers.archive.rows");
+        this.archivedBatches = meterRegistry.counter("developers.archive.batches");
+        this.runTimer = meterRegistry.timer("developers.archive.run");
+        meterRegistry.gauge("developers.archive.pending", pendingRows);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule = Flux.interval(properties.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> archive()
+                        .onErrorResume(e -> {
+                            log.error("Developers archival run failed", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null)
+            schedule.dispose();
+    }
+
+    public Mono<Long> archive() {
+        return Mono.defer(() -> {
+            var deletedBefore = LocalDateTime.now().minus(properties.getDeletedOlderThan());
+            return developerRepository.countDeletedBefore(deletedBefore)
+                    .doOnNext(pendingRows::set)
+                    .thenMany(Flux.range(0, properties.getMaxBatchesPerRun())
+                            .concatMap(batch -> developerRepository.archiveDeletedBefore(deletedBefore, properties.getBatchSize())
+                                    .delayElement(properties.getBatchDelay()))
+                            .doOnNext(moved -> {
+                                archivedRows.increment(moved);
+                                archivedBatches.increment();
+                                pendingRows.updateAndGet(pending -> Math.max(0, pending - moved));
+                            })
+                            .takeUntil(moved -> moved < properties.getBatchSize()))
+                    .reduce(0L, Long::sum)
+                    .doOnNext(total -> {
+                        if (total > 0)
+                            log.info("Archived {} developers deleted before {}", total, deletedBefore);
+                    });
+        })
+                .elapsed()
+                .doOnNext(timed -> runTimer.record(Duration.ofMillis(timed.getT1())))
+                .map(Tuple2::getT2);
+    }
+}
@@ -0,0 +1,289 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.DeveloperShards;
+import com.testing.maxym.qafordevsreactive.config.ShardingProperties;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperShardDirectory;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperShardDirectory.BucketState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.r2dbc.sharding", name = "enabled", havingValue = "true")
+public class DeveloperBucketMover {
+
+    private static final String SELECT_CHANGED_ROWS = """
+            SELECT id, email, first_name, last_name, specialty, status, deleted_at, row_version
+            FROM developers
+            WHERE (id & :mask) = :bucket AND row_version > :since
+            ORDER BY row_version
+            LIMIT :limit
+            """;
+    private static final String SELECT_ROWS_BY_IDS = """
+            SELECT id, email, first_name, last_name, specialty, status, deleted_at, row_version
+            FROM developers
+            WHERE id = ANY(:ids)
+            """;
+    private static final String UPSERT_ROW = """
+            INSERT INTO developers (id, email, first_name, last_name, specialty, status, deleted_at)
+            VALUES (:id, :email, :firstName, :lastName, :specialty, :status, :deletedAt)
+            ON CONFLICT (id) DO UPDATE
+            SET email = excluded.email, first_name = excluded.first_name, last_name = excluded.last_name,
+                specialty = excluded.specialty, status = excluded.status, deleted_at = excluded.deleted_at
+            """;
+    private static final String SELECT_ARCHIVED_ROWS = """
+            SELECT id, email, first_name, last_name, specialty, status, deleted_at
+            FROM developers_archive
+            WHERE (id & :mask) = :bucket
+            """;
+    private static final String INSERT_ARCHIVED_ROW = """
+            INSERT INTO developers_archive (id, email, first_name, last_name, specialty, status, deleted_at)
+            VALUES (:id, :email, :firstName, :lastName, :specialty, :status, :deletedAt)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private final DeveloperShards shards;
+    private final DeveloperShardDirectory directory;
+    private final ShardingProperties properties;
+    private final Counter movedRows;
+    private final Counter movedBuckets;
+
+    private Disposable cleanups;
+
+    public DeveloperBucketMover(DeveloperShards shards, DeveloperShardDirectory directory,
+                                ShardingProperties properties, MeterRegistry meterRegistry) {
+        this.shards = shards;
+        this.directory = directory;
+        this.properties = properties;
+        this.movedRows = meterRegistry.counter("developers.sharding.moved_rows");
+        this.movedBuckets = meterRegistry.counter("developers.sharding.moved_buckets");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        cleanups = Flux.interval(properties.getMoveCleanupInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> cleanUpMovedBuckets()
+                        .onErrorResume(e -> {
+                            log.warn("Cleaning up moved developers buckets failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (cleanups != null)
+            cleanups.dispose();
+    }
+
+    public Mono<Long> moveBucket(int bucket, int targetShard) {
+        if (bucket < 0 || bucket >= directory.buckets() || targetShard < 0 || targetShard >= shards.count())
+            return Mono.error(new InvalidRequestParameterException("Unknown bucket or shard", "INVALID_SHARD_MOVE"));
+
+        return directory.assignment(bucket)
+                .flatMap(assignment -> {
+                    if (assignment.shard() == targetShard && assignment.state() == BucketState.ACTIVE)
+                        return Mono.just(0L);
+                    if (assignment.state() != BucketState.ACTIVE)
+                        return Mono.error(new InvalidRequestParameterException("Bucket " + bucket + " is already being moved", "INVALID_SHARD_MOVE"));
+                    if (assignment.cleanupShard() != null)
+                        return Mono.error(new InvalidRequestParameterException("Bucket " + bucket + " is still being cleaned up after its last move", "INVALID_SHARD_MOVE"));
+                    return move(bucket, assignment.shard(), targetShard);
+                });
+    }
+
+    public Mono<Void> cleanUpMovedBuckets() {
+        return directory.activateSettledMoves()
+                .thenMany(directory.dueCleanups())
+                .concatMap(assignment -> deleteBucketRows(shards.template(assignment.cleanupShard()).getDatabaseClient(), assignment.bucket())
+                        .then(directory.completeCleanup(assignment.bucket(), assignment.cleanupShard()))
+                        .doOnSuccess(done -> log.info("Cleaned up moved developers bucket {} on shard {}",
+                                assignment.bucket(), assignment.cleanupShard())))
+                .then();
+    }
+
+    private Mono<Long> move(int bucket, int sourceShard, int targetShard) {
+        var source = shards.template(sourceShard).getDatabaseClient();
+        var target = shards.template(targetShard).getDatabaseClient();
+        var sinceVersion = new AtomicLong();
+        var copiedVersions = new HashMap<Integer, Long>();
+        var copied = new AtomicLong();
+
+        log.info("Moving developers bucket {} from shard {} to shard {}", bucket, sourceShard, targetShard);
+        return directory.beginMove(bucket, sourceShard, targetShard)
+                .flatMap(started -> started
+                        ? Mono.empty()
+                        : Mono.error(new InvalidRequestParameterException("Bucket " + bucket + " changed concurrently", "INVALID_SHARD_MOVE")))
+                .then(Mono.defer(() -> deleteBucketRows(target, bucket)))
+                .then(Mono.defer(() -> copyChangedRows(source, target, bucket, sinceVersion, copiedVersions, copied)))
+                .then(Mono.defer(() -> directory.freeze(bucket)))
+                .then(Mono.defer(() -> Mono.delay(properties.getMoveFreezeSettle())))
+                .then(Mono.defer(() -> reconcile(source, target, bucket, copiedVersions, copied)))
+                .then(Mono.defer(() -> copyArchivedRows(source, target, bucket)))
+                .then(Mono.defer(() -> directory.completeMove(bucket, cleanupDelay())))
+                .flatMap(completed -> completed
+                        ? Mono.empty()
+                        : Mono.error(new InvalidRequestParameterException("Bucket " + bucket + " changed concurrently", "INVALID_SHARD_MOVE")))
+                .onErrorResume(e -> {
+                    log.warn("Moving developers bucket {} failed, rolling back: {}", bucket, e.getMessage());
+                    return directory.abortMove(bucket)
+                            .then(deleteBucketRows(target, bucket))
+                            .then(Mono.error(e));
+                })
+                .then(Mono.defer(() -> {
+                    directory.invalidate();
+                    return Mono.delay(properties.getBucketMapRefreshInterval());
+                }))
+                .then(Mono.defer(() -> directory.activateMoved(bucket)))
+                .then(Mono.fromSupplier(() -> {
+                    movedBuckets.increment();
+                    movedRows.increment(copied.get());
+                    log.info("Moved developers bucket {} to shard {}: {} rows copied, shard {} is cleaned up after {}",
+                            bucket, targetShard, copied.get(), sourceShard, cleanupDelay());
+                    return copied.get();
+                }));
+    }
+
+    private Duration cleanupDelay() {
+        var refresh = properties.getBucketMapRefreshInterval();
+        return properties.getMoveGracePeriod().compareTo(refresh) > 0 ? properties.getMoveGracePeriod() : refresh;
+    }
+
+    private Mono<Void> copyChangedRows(DatabaseClient source, DatabaseClient target, int bucket,
+                                       AtomicLong sinceVersion, Map<Integer, Long> copiedVersions, AtomicLong copied) {
+        return Mono.defer(() -> source.sql(SELECT_CHANGED_ROWS)
+                        .bind("mask", directory.buckets() - 1)
+                        .bind("bucket", bucket)
+                        .bind("since", sinceVersion.get())
+                        .bind("limit", properties.getMoveBatchSize())
+                        .map(DeveloperBucketMover::readRow)
+                        .all()
+                        .concatMap(row -> upsert(target, UPSERT_ROW, row).thenReturn(row))
+                        .doOnNext(row -> {
+                            sinceVersion.set(row.rowVersion());
+                            copiedVersions.put(row.id(), row.rowVersion());
+                            copied.incrementAndGet();
+                        })
+                        .count())
+                .repeat()
+                .takeUntil(batch -> batch < properties.getMoveBatchSize())
+                .then();
+    }
+
+    private Mono<Void> reconcile(DatabaseClient source, DatabaseClient target, int bucket,
+                                 Map<Integer, Long> copiedVersions, AtomicLong copied) {
+        return Mono.zip(bucketVersions(source, bucket), bucketVersions(target, bucket))
+                .flatMap(versions -> {
+                    var sourceVersions = versions.getT1();
+                    var targetIds = versions.getT2().keySet();
+                    var removed = targetIds.stream()
+                            .filter(id -> !sourceVersions.containsKey(id))
+                            .toArray(Integer[]::new);
+                    var changed = sourceVersions.entrySet().stream()
+                            .filter(entry -> !targetIds.contains(entry.getKey())
+                                    || !entry.getValue().equals(copiedVersions.get(entry.getKey())))
+                            .map(Map.Entry::getKey)
+                            .toList();
+                    return deleteRows(target, removed)
+                            .thenMany(Flux.fromIterable(changed).buffer(properties.getMoveBatchSize()))
+                            .concatMap(ids -> source.sql(SELECT_ROWS_BY_IDS)
+                                    .bind("ids", ids.toArray(Integer[]::new))
+                                    .map(DeveloperBucketMover::readRow)
+                                    .all()
+                                    .concatMap(row -> upsert(target, UPSERT_ROW, row))
+                                    .doOnNext(upserted -> copied.incrementAndGet()))
+                            .then();
+                });
+    }
+
+    private Mono<Void> deleteRows(DatabaseClient shard, Integer[] ids) {
+        if (ids.length == 0)
+            return Mono.empty();
+        return shard.sql("DELETE FROM developers WHERE id = ANY(:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private Mono<Void> copyArchivedRows(DatabaseClient source, DatabaseClient target, int bucket) {
+        return source.sql(SELECT_ARCHIVED_ROWS)
+                .bind("mask", directory.buckets() - 1)
+                .bind("bucket", bucket)
+                .map(DeveloperBucketMover::readRow)
+                .all()
+                .concatMap(row -> upsert(target, INSERT_ARCHIVED_ROW, row))
+                .then();
+    }
+
+    private Mono<Void> deleteBucketRows(DatabaseClient shard, int bucket) {
+        return Flux.just("developers", "developers_archive")
+                .concatMap(table -> shard.sql("DELETE FROM " + table + " WHERE (id & :mask) = :bucket")
+                        .bind("mask", directory.buckets() - 1)
+                        .bind("bucket", bucket)
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+
+    private Mono<Map<Integer, Long>> bucketVersions(DatabaseClient shard, int bucket) {
+        return shard.sql("SELECT id, row_version FROM developers WHERE (id & :mask) = :bucket")
+                .bind("mask", directory.buckets() - 1)
+                .bind("bucket", bucket)
+                .map(row -> Map.entry(row.get("id", Integer.class), row.get("row_version", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private static Mono<Long> upsert(DatabaseClient target, String sql, BucketRow row) {
+        var spec = target.sql(sql).bind("id", row.id());
+        spec = bindNullable(spec, "email", row.email(), String.class);
+        spec = bindNullable(spec, "firstName", row.firstName(), String.class);
+        spec = bindNullable(spec, "lastName", row.lastName(), String.class);
+        spec = bindNullable(spec, "specialty", row.specialty(), String.class);
+        spec = bindNullable(spec, "status", row.status(), String.class);
+        spec = bindNullable(spec, "deletedAt", row.deletedAt(), LocalDateTime.class);
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static BucketRow readRow(Row row, RowMetadata metadata) {
+        var rowVersion = metadata.contains("row_version") ? row.get("row_version", Long.class) : null;
+        return new BucketRow(row.get("id", Integer.class),
+                row.get("email", String.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("specialty", String.class),
+                row.get("status", String.class),
+                row.get("deleted_at", LocalDateTime.class),
+                rowVersion == null ? 0 : rowVersion);
+    }
+
+    private record BucketRow(int id, String email, String firstName, String lastName, String specialty,
+                             String status, LocalDateTime deletedAt, long rowVersion) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.dto.BulkRequestDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResponseDto;
+import reactor.core.publisher.Mono;
+
+public interface DeveloperBulkService {
+
+    Mono<BulkResponseDto> executeBulk(BulkRequestDto request);
+}
@@ -0,0 +1,196 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.BulkProperties;
+import com.testing.maxym.qafordevsreactive.config.ShardingProperties;
+import com.testing.maxym.qafordevsreactive.dto.BulkOperationDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkOperationType;
+import com.testing.maxym.qafordevsreactive.dto.BulkRequestDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResponseDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResultDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResultStatus;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.exception.ApiException;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeveloperBulkServiceImpl implements DeveloperBulkService {
+
+    private static final TransactionDefinition NESTED = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_NESTED);
+
+    private final DeveloperService developerService;
+    private final ReactiveTransactionManager transactionManager;
+    private final BulkProperties properties;
+    private final ShardingProperties shardingProperties;
+
+    @Override
+    public Mono<BulkResponseDto> executeBulk(BulkRequestDto request) {
+        if (shardingProperties.isEnabled())
+            return Mono.error(new InvalidRequestParameterException("Bulk requests are not supported when sharding is enabled",
+                    "BULK_UNSUPPORTED_WITH_SHARDING"));
+        var operations = isNull(request.getOperations()) ? List.<BulkOperationDto>of() : request.getOperations();
+        if (operations.size() > properties.getMaxOperations())
+            return Mono.error(new InvalidRequestParameterException("Bulk request must contain at most "
+                    + properties.getMaxOperations() + " operations", "BULK_TOO_LARGE"));
+        for (int i = 0; i < operations.size(); i++)
+            validate(i, operations.get(i));
+
+        if (operations.isEmpty())
+            return Mono.just(new BulkResponseDto(request.isAtomic(), true, List.of()));
+        return request.isAtomic() ? executeAtomic(operations) : executeIndependent(operations);
+    }
+
+    private Mono<BulkResponseDto> executeAtomic(List<BulkOperationDto> operations) {
+        var results = new BulkResultDto[operations.size()];
+        var batch = Flux.fromIterable(runs(operations))
+                .concatMap(run -> Flux.fromIterable(run)
+                        .flatMapSequential(index -> execute(index, operations.get(index))
+                                .doOnNext(result -> results[index] = result)
+                                .onErrorMap(e -> new OperationFailure(index, e)), properties.getPipelineDepth()))
+                .then();
+
+        return TransactionalOperator.create(transactionManager).transactional(batch)
+                .then(Mono.fromSupplier(() -> new BulkResponseDto(true, true, Arrays.asList(results))))
+                .onErrorResume(OperationFailure.class, failure -> {
+                    for (int i = 0; i < results.length; i++) {
+                        var operation = operations.get(i);
+                        if (i == failure.index)
+                            results[i] = failed(i, operation.getType(), failure.getCause());
+                        else if (isNull(results[i]))
+                            results[i] = BulkResultDto.builder().index(i).type(operation.getType()).status(BulkResultStatus.SKIPPED).build();
+                        else
+                            results[i] = BulkResultDto.builder().index(i).type(operation.getType()).status(BulkResultStatus.ROLLED_BACK).build();
+                    }
+                    return Mono.just(new BulkResponseDto(true, false, Arrays.asList(results)));
+                });
+    }
+
+    private Mono<BulkResponseDto> executeIndependent(List<BulkOperationDto> operations) {
+        var savepoint = TransactionalOperator.create(transactionManager, NESTED);
+        var batch = Flux.range(0, operations.size())
+                .concatMap(index -> savepoint.transactional(execute(index, operations.get(index)))
+                        .onErrorResume(e -> Mono.just(failed(index, operations.get(index).getType(), e))))
+                .collectList()
+                .map(results -> new BulkResponseDto(false, true, results));
+        return TransactionalOperator.create(transactionManager).transactional(batch);
+    }
+
+    private Mono<BulkResultDto> execute(int index, BulkOperationDto operation) {
+        return Mono.defer(() -> switch (operation.getType()) {
+            case CREATE -> developerService.createDeveloper(operation.getDeveloper().toEntity())
+                    .map(developer -> succeeded(index, operation.getType(), DeveloperDto.fromEntity(developer)));
+            case UPDATE -> {
+                var developer = operation.getDeveloper().toEntity();
+                if (developer.getId() == null)
+                    developer.setId(operation.getId());
+                yield developerService.updateDeveloper(developer)
+                        .map(updated -> succeeded(index, operation.getType(), DeveloperDto.fromEntity(updated)));
+            }
+            case SOFT_DELETE -> developerService.softDeleteDeveloperById(operation.getId())
+                    .then(Mono.fromSupplier(() -> succeeded(index, operation.getType(), null)));
+            case HARD_DELETE -> developerService.hardDeleteDeveloperById(operation.getId())
+                    .then(Mono.fromSupplier(() -> succeeded(index, operation.getType(), null)));
+        });
+    }
+
+    private static List<List<Integer>> runs(List<BulkOperationDto> operations) {
+        var runs = new ArrayList<List<Integer>>();
+        List<Integer> run = null;
+        BulkOperationType runType = null;
+        Set<Object> runKeys = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            var operation = operations.get(i);
+            var key = keyOf(operation);
+            if (run == null || operation.getType() != runType || isNull(key) || !runKeys.add(key)) {
+                run = new ArrayList<>();
+                runs.add(run);
+                runType = operation.getType();
+                runKeys.clear();
+                runKeys.add(key);
+            }
+            run.add(i);
+        }
+        return runs;
+    }
+
+    private static Object keyOf(BulkOperationDto operation) {
+        if (operation.getType() == BulkOperationType.CREATE)
+            return operation.getDeveloper().getEmail();
+        if (operation.getType() == BulkOperationType.UPDATE)
+            return Objects.requireNonNullElse(operation.getDeveloper().getId(), operation.getId());
+        return operation.getId();
+    }
+
+    private static void validate(int index, BulkOperationDto operation) {
+        if (isNull(operation) || isNull(operation.getType()))
+            throw invalid(index, "must define a type");
+        switch (operation.getType()) {
+            case CREATE -> {
+                if (isNull(operation.getDeveloper()))
+                    throw invalid(index, "must define a developer");
+            }
+            case UPDATE -> {
+                if (isNull(operation.getDeveloper()))
+                    throw invalid(index, "must define a developer");
+                if (isNull(operation.getId()) && isNull(operation.getDeveloper().getId()))
+                    throw invalid(index, "must define a developer id");
+            }
+            case SOFT_DELETE, HARD_DELETE -> {
+                if (isNull(operation.getId()))
+                    throw invalid(index, "must define a developer id");
+            }
+        }
+    }
+
+    private static InvalidRequestParameterException invalid(int index, String reason) {
+        return new InvalidRequestParameterException("Operation " + index + " " + reason, "INVALID_BULK_OPERATION");
+    }
+
+    private static BulkResultDto succeeded(int index, BulkOperationType type, DeveloperDto developer) {
+        return BulkResultDto.builder()
+                .index(index)
+                .type(type)
+                .status(BulkResultStatus.SUCCEEDED)
+                .developer(developer)
+                .build();
+    }
+
+    private static BulkResultDto failed(int index, BulkOperationType type, Throwable e) {
+        var result = BulkResultDto.builder()
+                .index(index)
+                .type(type)
+                .status(BulkResultStatus.FAILED);
+        if (e instanceof ApiException apiException)
+            return result.code(apiException.getErrorCode()).message(apiException.getMessage()).build();
+        log.warn("Bulk operation {} failed: {}", index, e.getMessage());
+        return result.code("INTERNAL_ERROR").message("Internal server error").build();
+    }
+
+    private static final class OperationFailure extends RuntimeException {
+        private final int index;
+
+        private OperationFailure(int index, Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.maxym.qafordevsreactive.config.ChangeFeedProperties;
+import com.testing.maxym.qafordevsreactive.config.PostgresConnections;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
+import com.testing.maxym.qafordevsreactive.entity.ChangeOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeveloperChangeFeed {
+
+    private static final String CHANNEL = "developer_changes";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedProperties properties;
+    private final Flux<DeveloperChangeEvent> events;
+    private final Counter droppedEvents;
+    private final Counter disconnectedSubscribers;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private Disposable pruning;
+
+    public DeveloperChangeFeed(R2dbcConnectionDetails connectionDetails, DatabaseClient databaseClient,
+                               ObjectMapper objectMapper, ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.droppedEvents = meterRegistry.counter("developers.change_feed.dropped");
+        this.disconnectedSubscribers = meterRegistry.counter("developers.change_feed.disconnected");
+        meterRegistry.gauge("developers.change_feed.subscribers", subscribers);
+
+        ConnectionFactory listenerConnectionFactory = ConnectionFactories.get(connectionDetails.getConnectionFactoryOptions());
+        this.events = Flux.usingWhen(Mono.<Connection>from(listenerConnectionFactory.create()), this::listen, Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Developer change feed listener failed, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .share();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        pruning = Flux.interval(properties.getPruneInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> databaseClient.sql("DELETE FROM developer_changes WHERE occurred_at < :before")
+                        .bind("before", LocalDateTime.now().minus(properties.getRetention()))
+                        .fetch()
+                        .rowsUpdated()
+                        .onErrorResume(e -> {
+                            log.warn("Developer change feed pruning failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pruning != null)
+            pruning.dispose();
+    }
+
+    public Flux<DeveloperChangeEvent> events() {
+        return events;
+    }
+
+    public Flux<DeveloperChangeEvent> subscribe(Long lastEventId) {
+        return Flux.defer(() -> {
+                    if (isNull(lastEventId))
+                        return bounded(events);
+
+                    var size = properties.getSubscriberBufferSize();
+                    var handoff = Sinks.many().unicast().<DeveloperChangeEvent>onBackpressureBuffer(Queues.<DeveloperChangeEvent>get(size).get());
+                    var overflowed = new AtomicBoolean();
+                    var live = events.subscribe(event -> {
+                                if (handoff.tryEmitNext(event) == Sinks.EmitResult.FAIL_OVERFLOW && overflowed.compareAndSet(false, true)) {
+                                    droppedEvents.increment();
+                                    handoff.tryEmitComplete();
+                                }
+                            },
+                            handoff::tryEmitError,
+                            handoff::tryEmitComplete);
+                    var seen = seenEventIds();
+                    return bounded(Flux.concat(replay(lastEventId), handoff.asFlux())
+                            .filter(event -> seen.add(event.getEventId()))
+                            .concatWith(Mono.defer(() -> overflowed.get() ? Mono.just(resyncRequired()) : Mono.empty())))
+                            .doFinally(signal -> live.dispose());
+                })
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    private Flux<DeveloperChangeEvent> listen(Connection connection) {
+        var postgresqlConnection = PostgresConnections.unwrap(connection)
+                .orElseThrow(() -> new IllegalStateException("Developer change feed requires an r2dbc-postgresql connection"));
+        return postgresqlConnection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(postgresqlConnection.getNotifications())
+                .filter(notification -> CHANNEL.equals(notification.getName()))
+                .mapNotNull(this::parse);
+    }
+
+    private Flux<DeveloperChangeEvent> replay(long lastEventId) {
+        return databaseClient.sql("""
+                        SELECT event_id, developer_id, operation, specialty, previous_specialty, occurred_at
+                        FROM developer_changes
+                        WHERE event_id > :lastEventId
+                           OR (event_id < :lastEventId
+                               AND txid >= (SELECT snapshot_xmin FROM developer_changes WHERE event_id = :lastEventId))
+                        ORDER BY event_id
+                        """)
+                .bind("lastEventId", lastEventId)
+                .map(DeveloperChangeFeed::readEvent)
+                .all();
+    }
+
+    private Flux<DeveloperChangeEvent> bounded(Flux<DeveloperChangeEvent> source) {
+        var size = properties.getSubscriberBufferSize();
+        return switch (properties.getSlowSubscriberPolicy()) {
+            case DROP_OLDEST -> source.onBackpressureBuffer(size, dropped -> droppedEvents.increment(), BufferOverflowStrategy.DROP_OLDEST);
+            case DROP_LATEST -> source.onBackpressureBuffer(size, dropped -> droppedEvents.increment(), BufferOverflowStrategy.DROP_LATEST);
+            case DISCONNECT -> source.onBackpressureBuffer(size, dropped -> disconnectedSubscribers.increment());
+        };
+    }
+
+    private DeveloperChangeEvent parse(Notification notification) {
+        try {
+            return objectMapper.readValue(notification.getParameter(), DeveloperChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed developer change notification: {}", notification.getParameter());
+            return null;
+        }
+    }
+
+    private Set<Long> seenEventIds() {
+        var capacity = properties.getSeenEventIdsCapacity();
+        return Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    private static DeveloperChangeEvent resyncRequired() {
+        return DeveloperChangeEvent.builder()
+                .operation(ChangeOperation.RESYNC_REQUIRED)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static DeveloperChangeEvent readEvent(Readable row) {
+        return DeveloperChangeEvent.builder()
+                .eventId(row.get("event_id", Long.class))
+                .developerId(row.get("developer_id", Integer.class))
+                .operation(ChangeOperation.valueOf(row.get("operation", String.class)))
+                .specialty(row.get("specialty", String.class))
+                .previousSpecialty(row.get("previous_specialty", String.class))
+                .occurredAt(row.get("occurred_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,417 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.ReadModelProperties;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.isNull;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.read-model", name = "enabled", havingValue = "true")
+public class DeveloperReadModel {
+
+    private static final String SELECT_DEVELOPERS = "SELECT id, email, first_name, last_name, specialty, status, row_version FROM developers";
+    private static final String SELECT_SNAPSHOT_XMIN = "SELECT txid_snapshot_xmin(txid_current_snapshot())";
+    private static final Status[] STATUSES = Status.values();
+    private static final short NO_CODE = -1;
+    private static final byte NO_STATUS = -1;
+    private static final int ROW_BYTES = 40;
+    private static final int MAP_ENTRY_BYTES = 48;
+    private static final int STRING_BYTES = 40;
+
+    private final DatabaseClient databaseClient;
+    private final ReadModelProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, CompactDeveloper> rows = new HashMap<>();
+    private final List<String> specialtyDictionary = new ArrayList<>();
+    private final Map<String, Short> specialtyCodes = new HashMap<>();
+    private final Map<Short, IdList> activeIdsBySpecialty = new HashMap<>();
+    private final Set<Integer> touchedSinceReconcile = new HashSet<>();
+    private final Set<Integer> pendingResync = new HashSet<>();
+
+    private volatile long sinceTxid;
+    private volatile boolean loaded;
+    private Disposable refresh;
+
+    public DeveloperReadModel(DatabaseClient databaseClient, ReadModelProperties properties, MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+        Gauge.builder("developers.read_model.rows", this, DeveloperReadModel::size).register(meterRegistry);
+        Gauge.builder("developers.read_model.bytes", this, DeveloperReadModel::estimatedBytes).register(meterRegistry);
+        Gauge.builder("developers.read_model.specialties", specialtyDictionary, List::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh = load()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .thenMany(Flux.interval(properties.getRefreshInterval())
+                        .onBackpressureDrop()
+                        .concatMap(tick -> refresh(tick)
+                                .onErrorResume(e -> {
+                                    log.warn("Developers read model refresh failed: {}", e.getMessage());
+                                    return Mono.empty();
+                                })))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresh != null)
+            refresh.dispose();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public List<DeveloperEntity> findAll() {
+        lock.readLock().lock();
+        try {
+            var developers = new ArrayList<DeveloperEntity>(rows.size());
+            rows.values().forEach(row -> developers.add(toEntity(row)));
+            return developers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<DeveloperEntity> findAllActiveBySpecialty(String specialty) {
+        lock.readLock().lock();
+        try {
+            var code = specialtyCodes.get(specialty);
+            var ids = isNull(code) ? null : activeIdsBySpecialty.get(code);
+            if (isNull(ids))
+                return Collections.emptyList();
+
+            var developers = new ArrayList<DeveloperEntity>(ids.size);
+            for (int i = 0; i < ids.size; i++)
+                developers.add(toEntity(rows.get(ids.ids[i])));
+            return developers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<DeveloperEntity> findById(Integer id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(rows.get(id)).map(this::toEntity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void upsert(DeveloperEntity developer) {
+        lock.writeLock().lock();
+        try {
+            touchedSinceReconcile.add(developer.getId());
+            pendingResync.add(developer.getId());
+            var previous = rows.get(developer.getId());
+            put(developer, isNull(previous) ? 0 : previous.rowVersion());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            touchedSinceReconcile.add(id);
+            pendingResync.add(id);
+            var previous = rows.remove(id);
+            if (previous != null)
+                unindex(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Mono<Void> resync(Collection<Integer> ids) {
+        if (ids.isEmpty())
+            return Mono.empty();
+        return databaseClient.sql(SELECT_DEVELOPERS + " WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(Integer[]::new))
+                .map(DeveloperReadModel::readVersioned)
+                .all()
+                .collectList()
+                .doOnNext(developers -> {
+                    lock.writeLock().lock();
+                    try {
+                        var missing = new HashSet<>(ids);
+                        for (var versioned : developers) {
+                            missing.remove(versioned.developer().getId());
+                            apply(versioned, true);
+                        }
+                        for (var id : missing) {
+                            var previous = rows.remove(id);
+                            if (previous != null)
+                                unindex(previous);
+                        }
+                        touchedSinceReconcile.addAll(ids);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                })
+                .then();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            var strings = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+            long bytes = (long) rows.size() * (ROW_BYTES + MAP_ENTRY_BYTES);
+            for (var row : rows.values()) {
+                strings.add(row.firstName());
+                strings.add(row.lastName());
+                strings.add(row.email());
+            }
+            strings.addAll(specialtyDictionary);
+            for (var value : strings)
+                if (value != null)
+                    bytes += STRING_BYTES + value.length();
+            for (var ids : activeIdsBySpecialty.values())
+                bytes += MAP_ENTRY_BYTES + 4L * ids.ids.length;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Mono<Void> load() {
+        return snapshotXmin().flatMap(xmin -> select(SELECT_DEVELOPERS, Map.of())
+                .collectList()
+                .doOnNext(developers -> {
+                    lock.writeLock().lock();
+                    try {
+                        rows.clear();
+                        activeIdsBySpecialty.clear();
+                        touchedSinceReconcile.clear();
+                        pendingResync.clear();
+                        developers.forEach(versioned -> put(versioned.developer(), versioned.rowVersion()));
+                        sinceTxid = xmin;
+                        loaded = true;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    log.info("Developers read model loaded: {} rows, {} specialties, ~{} bytes",
+                            size(), specialtyDictionary.size(), estimatedBytes());
+                }))
+                .then();
+    }
+
+    private Mono<Void> refresh(long tick) {
+        var delta = snapshotXmin()
+                .flatMap(xmin -> select(SELECT_DEVELOPERS + " WHERE row_txid >= :since", Map.of("since", sinceTxid))
+                        .collectList()
+                        .doOnNext(developers -> {
+                            lock.writeLock().lock();
+                            try {
+                                developers.forEach(versioned -> apply(versioned, false));
+                                sinceTxid = xmin;
+                            } finally {
+                                lock.writeLock().unlock();
+                            }
+                        }))
+                .then(Mono.defer(this::resyncPending));
+
+        if ((tick + 1) % properties.getReconcileEveryRefreshes() != 0)
+            return delta;
+        return delta.then(reconcile());
+    }
+
+    private Mono<Void> reconcile() {
+        return Mono.fromRunnable(() -> {
+                    lock.writeLock().lock();
+                    try {
+                        touchedSinceReconcile.clear();
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                })
+                .thenMany(databaseClient.sql("SELECT id FROM developers")
+                        .map(row -> row.get("id", Integer.class))
+                        .all())
+                .collect(HashSet<Integer>::new, Set::add)
+                .doOnNext(liveIds -> {
+                    lock.writeLock().lock();
+                    try {
+                        var stale = new ArrayList<Integer>();
+                        for (var id : rows.keySet())
+                            if (!liveIds.contains(id) && !touchedSinceReconcile.contains(id))
+                                stale.add(id);
+                        for (var id : stale)
+                            unindex(rows.remove(id));
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Void> resyncPending() {
+        List<Integer> ids;
+        lock.writeLock().lock();
+        try {
+            ids = new ArrayList<>(pendingResync);
+            pendingResync.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return resync(ids);
+    }
+
+    private Mono<Long> snapshotXmin() {
+        return databaseClient.sql(SELECT_SNAPSHOT_XMIN)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Flux<VersionedDeveloper> select(String sql, Map<String, Object> bindings) {
+        var spec = databaseClient.sql(sql);
+        for (var binding : bindings.entrySet())
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        return spec.map(DeveloperReadModel::readVersioned).all();
+    }
+
+    private static VersionedDeveloper readVersioned(Readable row) {
+        var status = row.get("status", String.class);
+        return new VersionedDeveloper(DeveloperEntity.builder()
+                .id(row.get("id", Integer.class))
+                .email(row.get("email", String.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .specialty(row.get("specialty", String.class))
+                .status(isNull(status) ? null : Status.valueOf(status))
+                .build(), row.get("row_version", Long.class));
+    }
+
+    private void apply(VersionedDeveloper versioned, boolean allowSameVersion) {
+        var cached = rows.get(versioned.developer().getId());
+        if (cached != null && (allowSameVersion ? versioned.rowVersion() < cached.rowVersion() : versioned.rowVersion() <= cached.rowVersion()))
+            return;
+        put(versioned.developer(), versioned.rowVersion());
+    }
+
+    private void put(DeveloperEntity developer, long rowVersion) {
+        var previous = rows.get(developer.getId());
+        if (previous != null)
+            unindex(previous);
+
+        var row = new CompactDeveloper(developer.getId(),
+                intern(developer.getFirstName()),
+                intern(developer.getLastName()),
+                developer.getEmail(),
+                encodeSpecialty(developer.getSpecialty()),
+                isNull(developer.getStatus()) ? NO_STATUS : (byte) developer.getStatus().ordinal(),
+                rowVersion);
+        rows.put(row.id(), row);
+        index(row);
+    }
+
+    private void index(CompactDeveloper row) {
+        if (row.status() == Status.ACTIVE.ordinal() && row.specialty() != NO_CODE)
+            activeIdsBySpecialty.computeIfAbsent(row.specialty(), code -> new IdList()).add(row.id());
+    }
+
+    private void unindex(CompactDeveloper row) {
+        var ids = activeIdsBySpecialty.get(row.specialty());
+        if (ids != null)
+            ids.remove(row.id());
+    }
+
+    private short encodeSpecialty(String specialty) {
+        if (isNull(specialty))
+            return NO_CODE;
+        return specialtyCodes.computeIfAbsent(specialty.intern(), value -> {
+            specialtyDictionary.add(value);
+            return (short) (specialtyDictionary.size() - 1);
+        });
+    }
+
+    private DeveloperEntity toEntity(CompactDeveloper row) {
+        return DeveloperEntity.builder()
+                .id(row.id())
+                .firstName(row.firstName())
+                .lastName(row.lastName())
+                .email(row.email())
+                .specialty(row.specialty() == NO_CODE ? null : specialtyDictionary.get(row.specialty()))
+                .status(row.status() == NO_STATUS ? null : STATUSES[row.status()])
+                .build();
+    }
+
+    private static String intern(String value) {
+        return isNull(value) ? null : value.intern();
+    }
+
+    private record CompactDeveloper(int id, String firstName, String lastName, String email,
+                                    short specialty, byte status, long rowVersion) {
+    }
+
+    private record VersionedDeveloper(DeveloperEntity developer, long rowVersion) {
+    }
+
+    private static final class IdList {
+        private int[] ids = new int[8];
+        private int size;
+
+        private void add(int id) {
+            var index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0)
+                return;
+            index = -index - 1;
+            if (size == ids.length)
+                ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            var index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0)
+                return;
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+}
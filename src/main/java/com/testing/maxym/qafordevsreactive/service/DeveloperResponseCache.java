@@ -0,0 +1,228 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.Objects.isNull;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.response-cache", name = "enabled", havingValue = "true")
+public class DeveloperResponseCache {
+
+    public static final String ALL_DEVELOPERS = "*";
+    public static final long NOT_CACHEABLE = -1;
+
+    public record CachedBody(ByteBuf body, String contentType, boolean gzipped) {
+    }
+
+    private record Entry(String tag, String contentType, ByteBuf identity, ByteBuf gzipped, long expiresAt) {
+        private long bytes() {
+            return identity.readableBytes() + (isNull(gzipped) ? 0 : gzipped.readableBytes());
+        }
+
+        private void release() {
+            identity.release();
+            if (gzipped != null)
+                gzipped.release();
+        }
+    }
+
+    private final ResponseCacheProperties properties;
+    private final Optional<DeveloperChangeFeed> changeFeed;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Long> invalidatedAt = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    private long bytes;
+    private Disposable changeSubscription;
+
+    public DeveloperResponseCache(ResponseCacheProperties properties, Optional<DeveloperChangeFeed> changeFeed, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.changeFeed = changeFeed;
+        this.hits = meterRegistry.counter("developers.response_cache.hits");
+        this.misses = meterRegistry.counter("developers.response_cache.misses");
+        this.evictions = meterRegistry.counter("developers.response_cache.evictions");
+        this.invalidations = meterRegistry.counter("developers.response_cache.invalidations");
+        Gauge.builder("developers.response_cache.bytes", this, DeveloperResponseCache::size).register(meterRegistry);
+        Gauge.builder("developers.response_cache.entries", this, DeveloperResponseCache::entryCount).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        changeSubscription = changeFeed.map(feed -> feed.events()
+                        .subscribe(event -> invalidate(event.getSpecialty(), event.getPreviousSpecialty()),
+                                e -> log.warn("Response cache stopped following developer changes: {}", e.getMessage())))
+                .orElse(null);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (changeSubscription != null)
+            changeSubscription.dispose();
+        entries.values().forEach(Entry::release);
+        entries.clear();
+        bytes = 0;
+    }
+
+    public CachedBody get(String key, boolean acceptsGzip) {
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                if (acceptsGzip && entry.gzipped() != null)
+                    return new CachedBody(entry.gzipped().retainedDuplicate(), entry.contentType(), true);
+                return new CachedBody(entry.identity().retainedDuplicate(), entry.contentType(), false);
+            }
+            if (entry != null)
+                evict(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized long stamp(String tag) {
+        var lastInvalidation = invalidatedAt.getOrDefault(tag, 0L);
+        if (lastInvalidation != 0 && System.nanoTime() - lastInvalidation < properties.getInvalidationHoldOff().toNanos())
+            return NOT_CACHEABLE;
+        return lastInvalidation;
+    }
+
+    public void put(String key, String tag, String contentType, ByteBuf body, long stamp) {
+        if (!cacheable(tag, stamp) || body.readableBytes() > properties.getMaxEntrySize().toBytes()) {
+            body.release();
+            return;
+        }
+
+        var entry = new Entry(tag, contentType, body, null, System.nanoTime() + properties.getTtl().toNanos());
+        store(key, entry, stamp);
+    }
+
+    public void invalidate(String... specialties) {
+        synchronized (this) {
+            var now = System.nanoTime();
+            var tags = new HashSet<String>();
+            tags.add(ALL_DEVELOPERS);
+            for (var specialty : specialties)
+                if (specialty != null)
+                    tags.add(specialty);
+            tags.forEach(tag -> invalidatedAt.put(tag, now));
+
+            var iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+                if (tags.contains(entry.tag())) {
+                    bytes -= entry.bytes();
+                    entry.release();
+                    iterator.remove();
+                }
+            }
+        }
+        invalidations.increment();
+    }
+
+    public synchronized long size() {
+        return bytes;
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private synchronized boolean cacheable(String tag, long stamp) {
+        return stamp != NOT_CACHEABLE && invalidatedAt.getOrDefault(tag, 0L) == stamp;
+    }
+
+    private synchronized void store(String key, Entry entry, long stamp) {
+        if (!cacheable(entry.tag(), stamp) || entry.bytes() > properties.getMaxSize().toBytes()) {
+            entry.release();
+            return;
+        }
+        var previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.bytes();
+            previous.release();
+        }
+        bytes += entry.bytes();
+        trim(entry);
+        if (properties.isGzip() && entry.identity().readableBytes() >= properties.getGzipMinSize().toBytes())
+            compress(key, entry, stamp);
+    }
+
+    private void compress(String key, Entry entry, long stamp) {
+        var source = entry.identity().retainedDuplicate();
+        Mono.fromCallable(() -> gzip(source))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> source.release())
+                .subscribe(gzipped -> attachGzipped(key, entry, gzipped, stamp),
+                        e -> log.warn("Compressing cached response for {} failed: {}", key, e.getMessage()));
+    }
+
+    private synchronized void attachGzipped(String key, Entry entry, ByteBuf gzipped, long stamp) {
+        var compressed = new Entry(entry.tag(), entry.contentType(), entry.identity(), gzipped, entry.expiresAt());
+        if (entries.get(key) != entry || !cacheable(entry.tag(), stamp) || compressed.bytes() > properties.getMaxSize().toBytes()) {
+            gzipped.release();
+            return;
+        }
+        entries.put(key, compressed);
+        bytes += gzipped.readableBytes();
+        trim(compressed);
+    }
+
+    private void trim(Entry keep) {
+        var eldest = entries.entrySet().iterator();
+        while (bytes > properties.getMaxSize().toBytes() && eldest.hasNext()) {
+            var candidate = eldest.next();
+            if (candidate.getValue() == keep)
+                continue;
+            bytes -= candidate.getValue().bytes();
+            candidate.getValue().release();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void evict(String key) {
+        var entry = entries.remove(key);
+        if (entry != null) {
+            bytes -= entry.bytes();
+            entry.release();
+        }
+    }
+
+    private static ByteBuf gzip(ByteBuf body) throws IOException {
+        var compressed = PooledByteBufAllocator.DEFAULT.directBuffer(body.readableBytes() / 4);
+        try (var output = new GZIPOutputStream(new ByteBufOutputStream(compressed))) {
+            body.getBytes(body.readerIndex(), output, body.readableBytes());
+        } catch (IOException e) {
+            compressed.release();
+            throw e;
+        }
+        return compressed;
+    }
+}
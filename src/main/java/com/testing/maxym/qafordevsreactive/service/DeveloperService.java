@@ -1,9 +1,15 @@
 package com.testing.maxym.qafordevsreactive.service;
 
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
 import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface DeveloperService {
 
     Mono<DeveloperEntity> createDeveloper(DeveloperEntity developer);
@@ -12,11 +18,25 @@ public interface DeveloperService {
 
     Flux<DeveloperEntity> getAllDevelopers();
 
+    Flux<DeveloperEntity> getAllDevelopers(Set<DeveloperField> fields);
+
+    Flux<DeveloperEntity> getAllDevelopers(DeveloperFilter filter, Set<DeveloperField> fields);
+
     Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty);
 
+    Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty, Set<DeveloperField> fields);
+
     Mono<DeveloperEntity> getDeveloperById(Integer id);
 
+    Mono<DeveloperEntity> getDeveloperById(Integer id, Set<DeveloperField> fields);
+
+    Flux<DeveloperEntity> getDevelopersByIds(Collection<Integer> ids);
+
     Mono<Void> softDeleteDeveloperById(Integer id);
 
     Mono<Void> hardDeleteDeveloperById(Integer id);
+
+    Mono<DeveloperEntity> restoreDeveloperById(Integer id);
+
+    Flux<DeveloperChangeEvent> getChanges(Long lastEventId);
 }
@@ -1,78 +1,273 @@
 package com.testing.maxym.qafordevsreactive.service;
 
+import com.testing.maxym.qafordevsreactive.config.ReadOnlyRouting;
+import com.testing.maxym.qafordevsreactive.config.StreamingProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
 import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
 import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.exception.ApiException;
 import com.testing.maxym.qafordevsreactive.exception.DeveloperNotFoundException;
 import com.testing.maxym.qafordevsreactive.exception.DeveloperWithEmailAlreadyExistsException;
-import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperCrudOperations;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.observability.micrometer.Micrometer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.testing.maxym.qafordevsreactive.config.SlowQueryListener.METHOD_KEY;
+import static com.testing.maxym.qafordevsreactive.config.SlowQueryListener.SERVICE_OBSERVATION;
 import static java.util.Objects.nonNull;
 
 @Service
 @RequiredArgsConstructor
 public class DeveloperServiceImpl implements DeveloperService {
 
-    private final DeveloperRepository developerRepository;
+    private static final String EMAIL_UNIQUE_INDEX = "developers_email_uidx";
+
+    private final DeveloperCrudOperations developerRepository;
+    private final Optional<RecentWrites> recentWrites;
+    private final ObservationRegistry observationRegistry;
+    private final StreamingProperties streamingProperties;
+    private final Optional<DeveloperReadModel> readModel;
+    private final Optional<DeveloperChangeFeed> changeFeed;
+    private final Optional<DeveloperResponseCache> responseCache;
 
     private Mono<Void> checkIfExistsByEmail(String email) {
         return developerRepository.findByEmail(email)
                 .flatMap(developer -> {
                     if (nonNull(developer))
-                        return Mono.error(new DeveloperWithEmailAlreadyExistsException("Developer with defined email is already exists", "DEVELOPER_DUPLICATE_EMAIL"));
+                        return Mono.error(duplicateEmail());
                     return Mono.empty();
                 });
     }
 
+    private static DeveloperWithEmailAlreadyExistsException duplicateEmail() {
+        return new DeveloperWithEmailAlreadyExistsException("Developer with defined email is already exists", "DEVELOPER_DUPLICATE_EMAIL");
+    }
+
+    private static boolean isDuplicateEmail(Throwable e) {
+        return e instanceof DuplicateKeyException && nonNull(e.getMessage()) && e.getMessage().contains(EMAIL_UNIQUE_INDEX);
+    }
+
+    private Mono<DeveloperEntity> findExistingById(Integer id) {
+        return developerRepository.findById(id)
+                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")));
+    }
+
+    private Mono<DeveloperEntity> saveAndRecord(DeveloperEntity developer) {
+        return developerRepository.save(developer)
+                .onErrorMap(DeveloperServiceImpl::isDuplicateEmail, e -> duplicateEmail())
+                .flatMap(saved -> afterCommit(() -> recordWrite(saved)).thenReturn(saved));
+    }
+
+    private void recordWrite(DeveloperEntity developer) {
+        recentWrites.ifPresent(writes -> writes.record(developer.getId()));
+        readModel.ifPresent(model -> model.upsert(developer));
+    }
+
+    private void recordDelete(Integer id) {
+        recentWrites.ifPresent(writes -> writes.record(id));
+        readModel.ifPresent(model -> model.remove(id));
+    }
+
+    private boolean isRecentlyWritten(Integer id) {
+        return recentWrites.map(writes -> writes.isRecent(id)).orElse(false);
+    }
+
+    private void evictResponses(String... specialties) {
+        responseCache.ifPresent(cache -> cache.invalidate(specialties));
+    }
+
+    private Mono<Void> afterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(synchronization -> {
+                    if (!synchronization.isSynchronizationActive() || !synchronization.isActualTransactionActive())
+                        return Mono.<Void>fromRunnable(action);
+                    synchronization.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action));
+    }
+
+    private Optional<DeveloperReadModel> loadedReadModel() {
+        return readModel.filter(DeveloperReadModel::isLoaded);
+    }
+
+    private <T> Mono<T> observed(String method, Mono<T> mono) {
+        return mono.name(SERVICE_OBSERVATION)
+                .tag(METHOD_KEY, method)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    private <T> Flux<T> observed(String method, Flux<T> flux) {
+        return flux.name(SERVICE_OBSERVATION)
+                .tag(METHOD_KEY, method)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
     @Override
     public Mono<DeveloperEntity> createDeveloper(DeveloperEntity developer) {
-        return checkIfExistsByEmail(developer.getEmail())
+        return observed("createDeveloper", checkIfExistsByEmail(developer.getEmail())
                 .then(Mono.defer(() -> {
                     developer.setStatus(Status.ACTIVE);
-                    return developerRepository.save(developer);
-                }));
+                    return saveAndRecord(developer);
+                }))
+                .flatMap(created -> afterCommit(() -> evictResponses(created.getSpecialty())).thenReturn(created)));
     }
 
     @Override
     public Mono<DeveloperEntity> updateDeveloper(DeveloperEntity developer) {
-        return developerRepository.findById(developer.getId())
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")))
-                .flatMap(d -> developerRepository.save(developer));
+        return observed("updateDeveloper", findExistingById(developer.getId())
+                .flatMap(d -> {
+                    if (developer.getStatus() == Status.DELETED)
+                        developer.setDeletedAt(nonNull(d.getDeletedAt()) ? d.getDeletedAt() : LocalDateTime.now());
+                    return saveAndRecord(developer)
+                            .flatMap(updated -> afterCommit(() -> evictResponses(d.getSpecialty(), updated.getSpecialty())).thenReturn(updated));
+                }));
     }
 
     @Override
     public Flux<DeveloperEntity> getAllDevelopers() {
-        return developerRepository.findAll();
+        var model = loadedReadModel();
+        if (model.isPresent())
+            return Flux.defer(() -> Flux.fromIterable(model.get().findAll()));
+        return observed("getAllDevelopers", developerRepository.streamAll())
+                .limitRate(streamingProperties.getLimitRate(), streamingProperties.getLimitRateLowTide())
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getAllDevelopers(Set<DeveloperField> fields) {
+        if (fields.equals(DeveloperField.ALL) || loadedReadModel().isPresent())
+            return getAllDevelopers();
+        return observed("getAllDevelopers", developerRepository.streamAll(fields))
+                .limitRate(streamingProperties.getLimitRate(), streamingProperties.getLimitRateLowTide())
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getAllDevelopers(DeveloperFilter filter, Set<DeveloperField> fields) {
+        var model = loadedReadModel();
+        if (model.isPresent())
+            return Flux.defer(() -> Flux.fromStream(model.get().findAll().stream()
+                    .filter(filter::matches)
+                    .sorted(filter.getSort().getComparator())));
+        return observed("getAllDevelopersMatching", developerRepository.streamAllMatching(filter, fields))
+                .limitRate(streamingProperties.getLimitRate(), streamingProperties.getLimitRateLowTide())
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     @Override
     public Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty) {
-        return developerRepository.findAllActiveBySpecialty(specialty);
+        var model = loadedReadModel();
+        if (model.isPresent())
+            return Flux.defer(() -> Flux.fromIterable(model.get().findAllActiveBySpecialty(specialty)));
+        return observed("getAllActiveBySpecialty", developerRepository.streamAllActiveBySpecialty(specialty))
+                .limitRate(streamingProperties.getLimitRate(), streamingProperties.getLimitRateLowTide())
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty, Set<DeveloperField> fields) {
+        if (fields.equals(DeveloperField.ALL) || loadedReadModel().isPresent())
+            return getAllActiveBySpecialty(specialty);
+        return observed("getAllActiveBySpecialty", developerRepository.streamAllActiveBySpecialty(specialty, fields))
+                .limitRate(streamingProperties.getLimitRate(), streamingProperties.getLimitRateLowTide())
+                .contextWrite(ReadOnlyRouting::readOnly);
     }
 
     @Override
     public Mono<DeveloperEntity> getDeveloperById(Integer id) {
-        return developerRepository.findById(id)
+        var cached = loadedReadModel().flatMap(model -> model.findById(id));
+        if (cached.isPresent())
+            return Mono.just(cached.get());
+        if (isRecentlyWritten(id))
+            return observed("getDeveloperById", findExistingById(id));
+        return observed("getDeveloperById", findExistingById(id))
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    @Override
+    public Mono<DeveloperEntity> getDeveloperById(Integer id, Set<DeveloperField> fields) {
+        if (fields.equals(DeveloperField.ALL) || loadedReadModel().isPresent())
+            return getDeveloperById(id);
+        var developer = developerRepository.findProjectedById(id, fields)
                 .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")));
+        if (isRecentlyWritten(id))
+            return observed("getDeveloperById", developer);
+        return observed("getDeveloperById", developer)
+                .contextWrite(ReadOnlyRouting::readOnly);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getDevelopersByIds(Collection<Integer> ids) {
+        var model = loadedReadModel();
+        if (model.isPresent())
+            return Flux.defer(() -> Flux.fromStream(ids.stream().distinct()
+                    .map(id -> model.get().findById(id))
+                    .flatMap(Optional::stream)));
+        var developers = observed("getDevelopersByIds", developerRepository.streamAllByIds(ids));
+        if (ids.stream().anyMatch(this::isRecentlyWritten))
+            return developers;
+        return developers.contextWrite(ReadOnlyRouting::readOnly);
     }
 
     @Override
     public Mono<Void> softDeleteDeveloperById(Integer id) {
-        return getDeveloperById(id)
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")))
+        return observed("softDeleteDeveloperById", findExistingById(id)
                 .flatMap(developer -> {
                         developer.setStatus(Status.DELETED);
-                        return developerRepository.save(developer).then();
-                });
+                        developer.setDeletedAt(LocalDateTime.now());
+                        return saveAndRecord(developer)
+                                .flatMap(deleted -> afterCommit(() -> evictResponses(deleted.getSpecialty())));
+                }));
     }
 
     @Override
     public Mono<Void> hardDeleteDeveloperById(Integer id) {
-        return getDeveloperById(id)
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")))
-                .flatMap(developer -> developerRepository.deleteById(id).then());
+        return observed("hardDeleteDeveloperById", findExistingById(id)
+                .flatMap(developer -> developerRepository.deleteById(id)
+                        .then(Mono.defer(() -> afterCommit(() -> {
+                            recordDelete(id);
+                            evictResponses(developer.getSpecialty());
+                        })))));
+    }
+
+    @Override
+    public Mono<DeveloperEntity> restoreDeveloperById(Integer id) {
+        return observed("restoreDeveloperById", developerRepository.findArchivedById(id)
+                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Archived developer not found", "DEVELOPER_NOT_FOUND")))
+                .flatMap(archived -> checkIfExistsByEmail(archived.getEmail()))
+                .then(Mono.defer(() -> developerRepository.restoreArchivedById(id)))
+                .onErrorMap(DeveloperServiceImpl::isDuplicateEmail, e -> duplicateEmail())
+                .then(Mono.defer(() -> findExistingById(id)))
+                .flatMap(restored -> afterCommit(() -> {
+                    recordWrite(restored);
+                    evictResponses(restored.getSpecialty());
+                }).thenReturn(restored)));
+    }
+
+    @Override
+    public Flux<DeveloperChangeEvent> getChanges(Long lastEventId) {
+        return changeFeed.map(feed -> feed.subscribe(lastEventId))
+                .orElseGet(() -> Flux.error(new ApiException("Developer change feed is disabled", "DEVELOPER_CHANGE_FEED_DISABLED")));
     }
 }
@@ -0,0 +1,155 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.maxym.qafordevsreactive.config.WarmupProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeveloperWarmup implements ApplicationRunner {
+
+    private static final String WARMUP_SPECIALTY = "__warmup__";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DeveloperRepository developerRepository;
+    private final ReactiveTransactionManager transactionManager;
+    private final R2dbcProperties r2dbcProperties;
+    private final WarmupProperties properties;
+    private final ObjectMapper objectMapper;
+    private final WebClient.Builder webClientBuilder;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var started = System.nanoTime();
+        timed("statements", prepareStatements())
+                .then(timed("serialization", Mono.<Void>fromRunnable(this::warmUpSerialization)))
+                .then(timed("http", exerciseEndpoints()))
+                .timeout(properties.getTimeout())
+                .onErrorResume(e -> {
+                    log.warn("Warm-up did not complete, continuing startup: {}", e.toString());
+                    return Mono.empty();
+                })
+                .block();
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+        meterRegistry.timer("developers.warmup.duration", "phase", "total").record(elapsed);
+        log.info("Warm-up completed in {} ms", elapsed.toMillis());
+    }
+
+    private Mono<Void> prepareStatements() {
+        var connections = r2dbcProperties.getPool().getMaxSize();
+        var arrived = new AtomicInteger();
+        var allConnectionsHeld = Sinks.<Void>empty();
+        return Flux.range(0, connections)
+                .flatMap(connection -> TransactionalOperator.create(transactionManager).execute(transaction -> {
+                    transaction.setRollbackOnly();
+                    if (arrived.incrementAndGet() == connections)
+                        allConnectionsHeld.tryEmitEmpty();
+                    return allConnectionsHeld.asMono()
+                            .timeout(properties.getConnectionBarrierTimeout(), Mono.empty())
+                            .then(exerciseRepository(connection));
+                }), connections)
+                .then();
+    }
+
+    private Mono<Void> exerciseRepository(int connection) {
+        var email = "warmup-" + connection + "-" + UUID.randomUUID() + "@warmup.invalid";
+        var developer = DeveloperEntity.builder()
+                .firstName("Warm")
+                .lastName("Up")
+                .email(email)
+                .specialty(WARMUP_SPECIALTY)
+                .status(Status.ACTIVE)
+                .build();
+        return developerRepository.findById(-1)
+                .then(developerRepository.findByEmail(email))
+                .thenMany(developerRepository.findAllActiveBySpecialty(WARMUP_SPECIALTY))
+                .thenMany(developerRepository.streamAllActiveBySpecialty(WARMUP_SPECIALTY))
+                .then(developerRepository.findProjectedById(-1, EnumSet.of(DeveloperField.ID, DeveloperField.EMAIL)))
+                .then(developerRepository.findArchivedById(-1))
+                .then(developerRepository.countDeletedBefore(EPOCH))
+                .then(developerRepository.archiveDeletedBefore(EPOCH, 1))
+                .then(developerRepository.restoreArchivedById(-1))
+                .then(developerRepository.save(developer))
+                .flatMap(saved -> {
+                    saved.setLastName("Down");
+                    return developerRepository.save(saved);
+                })
+                .flatMap(saved -> developerRepository.deleteById(saved.getId()));
+    }
+
+    private void warmUpSerialization() {
+        var developers = List.of(DeveloperDto.builder()
+                .id(1)
+                .firstName("Warm")
+                .lastName("Up")
+                .email("warmup@warmup.invalid")
+                .specialty(WARMUP_SPECIALTY)
+                .status(Status.ACTIVE)
+                .build());
+        try {
+            for (int i = 0; i < properties.getIterations(); i++) {
+                objectMapper.writeValueAsBytes(developers);
+                objectMapper.readValue(objectMapper.writeValueAsBytes(developers.get(0)), DeveloperDto.class);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+    }
+
+    private Mono<Void> exerciseEndpoints() {
+        if (!(applicationContext instanceof WebServerApplicationContext context) || properties.getPaths().isEmpty())
+            return Mono.empty();
+        var client = webClientBuilder.clone()
+                .baseUrl("http://localhost:" + context.getWebServer().getPort())
+                .build();
+        return Flux.range(0, properties.getIterations())
+                .flatMap(iteration -> Flux.fromIterable(properties.getPaths())
+                        .concatMap(path -> client.get()
+                                .uri(path)
+                                .exchangeToMono(response -> response.releaseBody())), properties.getConcurrency())
+                .then();
+    }
+
+    private Mono<Void> timed(String phase, Mono<Void> warmup) {
+        return Mono.defer(() -> {
+            var started = System.nanoTime();
+            return warmup.doOnSuccess(ignored -> {
+                var elapsed = Duration.ofNanos(System.nanoTime() - started);
+                meterRegistry.timer("developers.warmup.duration", "phase", phase).record(elapsed);
+                log.info("Warm-up phase '{}' completed in {} ms", phase, elapsed.toMillis());
+            });
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.ReadReplicaProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(prefix = "app.r2dbc.read-replicas", name = "enabled", havingValue = "true")
+public class RecentWrites {
+
+    private record Generation(long startedAt, Map<Integer, Long> writtenAt) {
+    }
+
+    private final long windowNanos;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public RecentWrites(ReadReplicaProperties properties) {
+        this.windowNanos = properties.getReadYourWritesWindow().toNanos();
+        this.current = new Generation(System.nanoTime(), new ConcurrentHashMap<>());
+        this.previous = new Generation(current.startedAt(), Map.of());
+    }
+
+    public void record(Integer id) {
+        var now = System.nanoTime();
+        rotateIfExpired(now).writtenAt().put(id, now);
+    }
+
+    public boolean isRecent(Integer id) {
+        var now = System.nanoTime();
+        var generation = rotateIfExpired(now);
+        var at = generation.writtenAt().get(id);
+        if (at == null)
+            at = previous.writtenAt().get(id);
+        return at != null && now - at <= windowNanos;
+    }
+
+    private Generation rotateIfExpired(long now) {
+        var generation = current;
+        if (now - generation.startedAt() <= windowNanos)
+            return generation;
+        synchronized (this) {
+            if (current == generation) {
+                previous = now - generation.startedAt() > 2 * windowNanos
+                        ? new Generation(now, Map.of())
+                        : generation;
+                current = new Generation(now, new ConcurrentHashMap<>());
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+alter table public.developer_shard_buckets
+    add column cleanup_shard integer,
+    add column cleanup_after timestamp;
@@ -0,0 +1,11 @@
+alter table public.developers
+    alter column last_name type varchar(255) collate "C";
+
+alter table public.developers_archive
+    alter column last_name type varchar(255) collate "C";
+
+drop index public.developers_last_name_prefix_idx;
+
+drop index public.developers_status_last_name_prefix_idx;
+
+create index developers_status_last_name_idx on public.developers (status, last_name, id);
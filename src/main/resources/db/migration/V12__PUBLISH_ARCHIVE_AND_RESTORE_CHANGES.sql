@@ -0,0 +1,45 @@
+create or replace function public.developers_publish_change() returns trigger as
+$$
+declare
+    change public.developer_changes;
+begin
+    if (tg_op = 'INSERT') then
+        insert into public.developer_changes (developer_id, operation, specialty)
+        values (new.id,
+                case
+                    when current_setting('app.restoring', true) = new.id::text then 'RESTORED'
+                    else 'CREATED'
+                    end,
+                new.specialty)
+        returning * into change;
+    elsif (tg_op = 'UPDATE') then
+        insert into public.developer_changes (developer_id, operation, specialty, previous_specialty)
+        values (new.id,
+                case
+                    when new.status = 'DELETED' and old.status is distinct from 'DELETED' then 'SOFT_DELETED'
+                    else 'UPDATED'
+                    end,
+                new.specialty,
+                old.specialty)
+        returning * into change;
+    else
+        insert into public.developer_changes (developer_id, operation, previous_specialty)
+        values (old.id,
+                case
+                    when current_setting('app.archiving', true) = 'on' then 'ARCHIVED'
+                    else 'HARD_DELETED'
+                    end,
+                old.specialty)
+        returning * into change;
+    end if;
+
+    perform pg_notify('developer_changes', json_build_object(
+            'eventId', change.event_id,
+            'developerId', change.developer_id,
+            'operation', change.operation,
+            'specialty', change.specialty,
+            'previousSpecialty', change.previous_specialty,
+            'occurredAt', change.occurred_at)::text);
+    return null;
+end;
+$$ language plpgsql;
@@ -0,0 +1,3 @@
+create index developers_status_id_idx on public.developers (status, id);
+
+create index developers_specialty_id_idx on public.developers (specialty, id);
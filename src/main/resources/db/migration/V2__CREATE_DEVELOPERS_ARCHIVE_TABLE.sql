@@ -0,0 +1,20 @@
+alter table public.developers
+    add column deleted_at timestamp;
+
+update public.developers
+set deleted_at = now()
+where status = 'DELETED';
+
+create index developers_deleted_at_idx on public.developers (deleted_at) where status = 'DELETED';
+
+create table public.developers_archive
+(
+    id          integer primary key,
+    email       varchar(255),
+    first_name  varchar(255),
+    last_name   varchar(255),
+    specialty   varchar(255),
+    status      varchar(255),
+    deleted_at  timestamp,
+    archived_at timestamp not null default now()
+);
@@ -0,0 +1,20 @@
+create sequence public.developers_row_version_seq;
+
+alter table public.developers
+    add column row_version bigint not null default nextval('public.developers_row_version_seq');
+
+create index developers_row_version_idx on public.developers (row_version);
+
+create function public.developers_bump_row_version() returns trigger as
+$$
+begin
+    new.row_version := nextval('public.developers_row_version_seq');
+    return new;
+end;
+$$ language plpgsql;
+
+create trigger developers_bump_row_version
+    before update
+    on public.developers
+    for each row
+execute function public.developers_bump_row_version();
@@ -0,0 +1,53 @@
+create table public.developer_changes
+(
+    event_id           bigserial primary key,
+    developer_id       integer     not null,
+    operation          varchar(32) not null,
+    specialty          varchar(255),
+    previous_specialty varchar(255),
+    occurred_at        timestamp   not null default now()
+);
+
+create index developer_changes_occurred_at_idx on public.developer_changes (occurred_at);
+
+create function public.developers_publish_change() returns trigger as
+$$
+declare
+    change public.developer_changes;
+begin
+    if (tg_op = 'INSERT') then
+        insert into public.developer_changes (developer_id, operation, specialty)
+        values (new.id, 'CREATED', new.specialty)
+        returning * into change;
+    elsif (tg_op = 'UPDATE') then
+        insert into public.developer_changes (developer_id, operation, specialty, previous_specialty)
+        values (new.id,
+                case
+                    when new.status = 'DELETED' and old.status is distinct from 'DELETED' then 'SOFT_DELETED'
+                    else 'UPDATED'
+                    end,
+                new.specialty,
+                old.specialty)
+        returning * into change;
+    else
+        insert into public.developer_changes (developer_id, operation, previous_specialty)
+        values (old.id, 'HARD_DELETED', old.specialty)
+        returning * into change;
+    end if;
+
+    perform pg_notify('developer_changes', json_build_object(
+            'eventId', change.event_id,
+            'developerId', change.developer_id,
+            'operation', change.operation,
+            'specialty', change.specialty,
+            'previousSpecialty', change.previous_specialty,
+            'occurredAt', change.occurred_at)::text);
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger developers_publish_change
+    after insert or update or delete
+    on public.developers
+    for each row
+execute function public.developers_publish_change();
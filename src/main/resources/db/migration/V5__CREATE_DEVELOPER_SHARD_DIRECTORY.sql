@@ -0,0 +1,19 @@
+create table public.developer_shard_buckets
+(
+    bucket       integer primary key,
+    shard        integer     not null,
+    state        varchar(16) not null default 'ACTIVE',
+    target_shard integer,
+    updated_at   timestamp   not null default now()
+);
+
+create table public.developer_emails
+(
+    email_hash   bigint       not null,
+    email        varchar(255) not null,
+    developer_id integer      not null,
+    claimed_at   timestamp    not null default now(),
+    primary key (email_hash, email)
+);
+
+create sequence public.developer_id_blocks;
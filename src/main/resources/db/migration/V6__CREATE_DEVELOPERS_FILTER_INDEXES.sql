@@ -0,0 +1,9 @@
+create index developers_status_specialty_last_name_idx on public.developers (status, specialty, last_name, id);
+
+create index developers_specialty_last_name_idx on public.developers (specialty, last_name, id);
+
+create index developers_last_name_idx on public.developers (last_name, id);
+
+create index developers_last_name_prefix_idx on public.developers (last_name text_pattern_ops);
+
+create index developers_status_last_name_prefix_idx on public.developers (status, last_name text_pattern_ops);
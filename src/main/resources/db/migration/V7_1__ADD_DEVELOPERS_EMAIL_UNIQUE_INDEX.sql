@@ -0,0 +1,3 @@
+drop index concurrently if exists public.developers_email_uidx;
+
+create unique index concurrently developers_email_uidx on public.developers (email);
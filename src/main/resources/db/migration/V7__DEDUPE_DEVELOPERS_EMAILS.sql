@@ -0,0 +1,24 @@
+create table public.developers_email_conflicts
+(
+    id          integer primary key,
+    email       varchar(255) not null,
+    kept_id     integer      not null,
+    detected_at timestamp    not null default now()
+);
+
+insert into public.developers_email_conflicts (id, email, kept_id)
+select id, email, kept_id
+from (select id,
+             email,
+             first_value(id) over (partition by email order by status = 'DELETED', id) as kept_id
+      from public.developers
+      where email is not null) ranked
+where id <> kept_id;
+
+with moved as (
+    delete from public.developers
+    where id in (select id from public.developers_email_conflicts)
+    returning id, email, first_name, last_name, specialty, status, deleted_at)
+insert into public.developers_archive (id, email, first_name, last_name, specialty, status, deleted_at)
+select id, email, first_name, last_name, specialty, 'DELETED', coalesce(deleted_at, now())
+from moved;
@@ -0,0 +1,13 @@
+alter table public.developers
+    add column row_txid bigint not null default txid_current();
+
+create index developers_row_txid_idx on public.developers (row_txid);
+
+create or replace function public.developers_bump_row_version() returns trigger as
+$$
+begin
+    new.row_version := nextval('public.developers_row_version_seq');
+    new.row_txid := txid_current();
+    return new;
+end;
+$$ language plpgsql;
@@ -0,0 +1,5 @@
+alter table public.developer_changes
+    add column txid          bigint not null default txid_current(),
+    add column snapshot_xmin bigint not null default txid_snapshot_xmin(txid_current_snapshot());
+
+create index developer_changes_txid_idx on public.developer_changes (txid);
@@ -0,0 +1,49 @@
+package com.testing.maxym.qafordevsreactive.benchmark;
+
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+public final class BenchmarkLoad {
+
+    private BenchmarkLoad() {
+    }
+
+    public static List<Integer> seedDevelopers(DeveloperRepository developerRepository, int developers) {
+        return developerRepository.deleteAll()
+                .thenMany(developerRepository.saveAll(Flux.range(0, developers)
+                        .map(i -> DeveloperEntity.builder()
+                                .firstName("First" + i)
+                                .lastName("Last" + i)
+                                .email("developer" + i + "@mail.com")
+                                .specialty(i % 2 == 0 ? "Java" : "Go")
+                                .status(Status.ACTIVE)
+                                .build())))
+                .map(DeveloperEntity::getId)
+                .collectList()
+                .block();
+    }
+
+    public static BenchmarkStats run(String name, int warmUpRequests, int requests, int concurrency,
+                                     IntFunction<Mono<?>> request) {
+        Flux.range(0, warmUpRequests)
+                .flatMap(request::apply, concurrency)
+                .blockLast();
+
+        var latencies = new long[requests];
+        var start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    var requestStart = System.nanoTime();
+                    return request.apply(i)
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - requestStart);
+                }), concurrency)
+                .blockLast();
+        return BenchmarkStats.of(name, System.nanoTime() - start, latencies);
+    }
+}
@@ -0,0 +1,28 @@
+package com.testing.maxym.qafordevsreactive.benchmark;
+
+import java.util.Arrays;
+
+public record BenchmarkStats(String name, int requests, long totalNanos, long p50Nanos, long p99Nanos) {
+
+    public static BenchmarkStats of(String name, long totalNanos, long[] latenciesNanos) {
+        var sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new BenchmarkStats(name, sorted.length, totalNanos,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    public double throughput() {
+        return requests / (totalNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-40s %8d req  %10.1f req/s  p50 %8.3f ms  p99 %8.3f ms",
+                name, requests, throughput(), p50Nanos / 1_000_000.0, p99Nanos / 1_000_000.0);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
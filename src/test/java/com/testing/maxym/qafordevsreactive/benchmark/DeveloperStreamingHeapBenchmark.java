@@ -0,0 +1,116 @@
+package com.testing.maxym.qafordevsreactive.benchmark;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.archive.enabled=false")
+@Import({PostgreTestcontainerConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DeveloperStreamingHeapBenchmark {
+
+    private static final long MAX_RETAINED_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @LocalServerPort
+    private int httpPort;
+
+    private WebClient webClient;
+
+    private Long baselineRetainedHeap;
+
+    @BeforeAll
+    public void setUp() {
+        databaseClient.sql("TRUNCATE developers").then().block();
+        webClient = WebClient.create("http://localhost:" + httpPort);
+    }
+
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {1_000_000, 5_000_000, 10_000_000})
+    @DisplayName("Benchmark heap usage while streaming all developers as NDJSON")
+    public void benchmarkStreamAllDevelopers(int rows) {
+        fillUpTo(rows);
+        System.gc();
+        resetPeakHeapUsage();
+        var start = System.nanoTime();
+
+        var streamed = webClient.get()
+                .uri("/api/v1/developers")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(DeveloperDto.class)
+                .count()
+                .block();
+
+        var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        var retainedHeap = peakRetainedHeapUsage();
+        System.out.printf("%,12d rows  %8d ms  peak heap %,8d KiB  peak retained heap %,8d KiB%n",
+                streamed, elapsedMillis, peakHeapUsage() / 1024, retainedHeap / 1024);
+        assertThat(streamed).isEqualTo(rows);
+        if (baselineRetainedHeap == null)
+            baselineRetainedHeap = retainedHeap;
+        assertThat(retainedHeap - baselineRetainedHeap)
+                .as("peak retained heap growth over the smallest result")
+                .isLessThanOrEqualTo(MAX_RETAINED_HEAP_GROWTH);
+    }
+
+    private void fillUpTo(int rows) {
+        var current = databaseClient.sql("SELECT count(*) FROM developers")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        databaseClient.sql("""
+                        INSERT INTO developers (email, first_name, last_name, specialty, status)
+                        SELECT 'developer' || i || '@mail.com', 'First' || i, 'Last' || i,
+                               CASE WHEN i % 2 = 0 THEN 'Java' ELSE 'Go' END, 'ACTIVE'
+                        FROM generate_series(:from, :to) AS i
+                        """)
+                .bind("from", current + 1)
+                .bind("to", (long) rows)
+                .then()
+                .block();
+    }
+
+    private static void resetPeakHeapUsage() {
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static long peakRetainedHeapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> !pool.getName().contains("Eden"))
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+}
@@ -0,0 +1,108 @@
+package com.testing.maxym.qafordevsreactive.benchmark;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.rsocket.context.LocalRSocketServerPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.rsocket.server.port=0")
+@Import({PostgreTestcontainerConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DeveloperTransportBenchmark {
+
+    private static final int DEVELOPERS = 200;
+    private static final int WARM_UP_REQUESTS = 2_000;
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = 64;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
+    private WebClient webClient;
+    private RSocketRequester requester;
+    private List<Integer> ids;
+
+    @BeforeAll
+    public void setUp() {
+        ids = BenchmarkLoad.seedDevelopers(developerRepository, DEVELOPERS);
+
+        webClient = WebClient.create("http://localhost:" + httpPort);
+        requester = requesterBuilder
+                .dataMimeType(MediaType.APPLICATION_CBOR)
+                .tcp("localhost", rsocketPort);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        requester.dispose();
+    }
+
+    @Test
+    @DisplayName("Benchmark get developer by id over REST and RSocket")
+    public void benchmarkGetDeveloperById() {
+        var rest = run("REST/JSON   GET /api/v1/developers/{id}", i -> webClient.get()
+                .uri("/api/v1/developers/{id}", ids.get(i % ids.size()))
+                .retrieve()
+                .bodyToMono(DeveloperDto.class));
+        var rsocket = run("RSocket/CBOR api.v1.developers.get", i -> requester
+                .route("api.v1.developers.get")
+                .data(ids.get(i % ids.size()))
+                .retrieveMono(DeveloperDto.class));
+
+        System.out.println(rest);
+        System.out.println(rsocket);
+        assertThat(rest.requests()).isEqualTo(REQUESTS);
+        assertThat(rsocket.requests()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    @DisplayName("Benchmark stream developers by specialty over REST and RSocket")
+    public void benchmarkGetAllDevelopersBySpecialty() {
+        var rest = run("REST/JSON   GET /api/v1/developers/specialty", i -> webClient.get()
+                .uri("/api/v1/developers/specialty/{specialty}", "Java")
+                .retrieve()
+                .bodyToFlux(DeveloperDto.class)
+                .then());
+        var rsocket = run("RSocket/CBOR api.v1.developers.specialty", i -> requester
+                .route("api.v1.developers.specialty.{specialty}", "Java")
+                .retrieveFlux(DeveloperDto.class)
+                .then());
+
+        System.out.println(rest);
+        System.out.println(rsocket);
+    }
+
+    private BenchmarkStats run(String name, IntFunction<Mono<?>> request) {
+        return BenchmarkLoad.run(name, WARM_UP_REQUESTS, REQUESTS, CONCURRENCY, request);
+    }
+}
@@ -0,0 +1,91 @@
+package com.testing.maxym.qafordevsreactive.benchmark;
+
+import com.testing.maxym.qafordevsreactive.QafordevsReactiveApplication;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.function.IntFunction;
+
+@Tag("benchmark")
+@Testcontainers
+public class NettyTransportBenchmark {
+
+    private static final int DEVELOPERS = 500;
+    private static final int WARM_UP_REQUESTS = 1_000;
+    private static final int REQUESTS = 10_000;
+    private static final int CONCURRENCY = 256;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "NIO/HTTP1.1,  false, HTTP11, 256",
+            "epoll/H2C,    true,  H2C,    8"
+    })
+    @DisplayName("Benchmark list endpoints per transport and protocol")
+    public void benchmarkListEndpoints(String name, boolean nativeTransport, HttpProtocol protocol, int maxConnections) {
+        try (var context = new SpringApplicationBuilder(QafordevsReactiveApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.rsocket.server.port=0",
+                        "app.netty.native-transport=" + nativeTransport,
+                        "spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":" + postgres.getFirstMappedPort() + "/" + postgres.getDatabaseName(),
+                        "spring.r2dbc.username=" + postgres.getUsername(),
+                        "spring.r2dbc.password=" + postgres.getPassword(),
+                        "spring.flyway.url=" + postgres.getJdbcUrl(),
+                        "spring.flyway.user=" + postgres.getUsername(),
+                        "spring.flyway.password=" + postgres.getPassword())
+                .run()) {
+            BenchmarkLoad.seedDevelopers(context.getBean(DeveloperRepository.class), DEVELOPERS);
+
+            var loopResources = LoopResources.create("benchmark-client", CONCURRENCY / 32, true);
+            var connectionProvider = ConnectionProvider.builder("benchmark")
+                    .maxConnections(maxConnections)
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            try {
+                var httpClient = HttpClient.create(connectionProvider)
+                        .runOn(loopResources, nativeTransport)
+                        .protocol(protocol);
+                var webClient = WebClient.builder()
+                        .baseUrl("http://localhost:" + context.getEnvironment().getProperty("local.server.port"))
+                        .clientConnector(new ReactorClientHttpConnector(httpClient))
+                        .build();
+
+                System.out.println(run(name + " GET /api/v1/developers", i -> webClient.get()
+                        .uri("/api/v1/developers")
+                        .retrieve()
+                        .bodyToFlux(DeveloperDto.class)
+                        .then()));
+                System.out.println(run(name + " GET /api/v1/developers/specialty/Java", i -> webClient.get()
+                        .uri("/api/v1/developers/specialty/{specialty}", "Java")
+                        .retrieve()
+                        .bodyToFlux(DeveloperDto.class)
+                        .then()));
+            } finally {
+                connectionProvider.disposeLater().block();
+                loopResources.disposeLater().block();
+            }
+        }
+    }
+
+    private static BenchmarkStats run(String name, IntFunction<Mono<?>> request) {
+        return BenchmarkLoad.run(name, WARM_UP_REQUESTS, REQUESTS, CONCURRENCY, request);
+    }
+}
@@ -0,0 +1,217 @@
+package com.testing.maxym.qafordevsreactive.budget;
+
+import com.testing.maxym.qafordevsreactive.benchmark.BenchmarkLoad;
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("budget")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.rsocket.server.port=0", "app.archive.enabled=false"})
+@Import({PostgreTestcontainerConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RequestBudgetTests {
+
+    private static final int DEVELOPERS = 100;
+    private static final int WARM_UP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 2_000;
+    private static final List<String> SERVER_THREAD_PREFIXES = List.of("http-server", "reactor-tcp");
+    private static final double UPDATE_HEADROOM = 1.25;
+    private static final String BUDGETS_HEADER = """
+            # Per-request budgets enforced by RequestBudgetTests.
+            # bytes  - bytes allocated on server threads (http-server-*, reactor-tcp-*) per request, measured with JFR
+            #          (gradle budgetTest, part of gradle check)
+            # p99-ms - p99 latency of sequential in-process requests, only asserted by gradle latencyBudgetTest because it
+            #          depends on the machine far more than allocation does
+            # Generated by: gradle budgetTest -Pbudgets.update=true (measured value plus 25% headroom)
+            """;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @LocalServerPort
+    private int httpPort;
+
+    private final Properties budgets = new Properties();
+    private final boolean updateBudgets = Boolean.getBoolean("budgets.update");
+    private final boolean assertLatency = Boolean.getBoolean("budgets.latency");
+    private final Map<String, Long> measuredBudgets = new TreeMap<>();
+    private LoopResources clientLoopResources;
+    private WebClient webClient;
+    private Integer existingId;
+
+    @BeforeAll
+    public void setUp() throws IOException {
+        try (var budgetsStream = getClass().getResourceAsStream("/budgets/request-budgets.properties")) {
+            budgets.load(budgetsStream);
+        }
+
+        existingId = BenchmarkLoad.seedDevelopers(developerRepository, DEVELOPERS).get(0);
+
+        clientLoopResources = LoopResources.create("budget-client", 1, true);
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + httpPort)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().runOn(clientLoopResources)))
+                .build();
+    }
+
+    @AfterAll
+    public void tearDown() throws IOException {
+        clientLoopResources.disposeLater().block();
+        if (updateBudgets)
+            writeBudgets();
+    }
+
+    @Test
+    @DisplayName("Test get all developers stays within allocation and latency budget")
+    public void getAllDevelopers() throws IOException {
+        assertWithinBudget("get-all-developers", i -> webClient.get()
+                .uri("/api/v1/developers")
+                .retrieve()
+                .bodyToFlux(DeveloperDto.class)
+                .then());
+    }
+
+    @Test
+    @DisplayName("Test get developers by specialty stays within allocation and latency budget")
+    public void getDevelopersBySpecialty() throws IOException {
+        assertWithinBudget("get-developers-by-specialty", i -> webClient.get()
+                .uri("/api/v1/developers/specialty/{specialty}", "Java")
+                .retrieve()
+                .bodyToFlux(DeveloperDto.class)
+                .then());
+    }
+
+    @Test
+    @DisplayName("Test get developer by id stays within allocation and latency budget")
+    public void getDeveloperById() throws IOException {
+        assertWithinBudget("get-developer-by-id", i -> webClient.get()
+                .uri("/api/v1/developers/{id}", existingId)
+                .retrieve()
+                .bodyToMono(DeveloperDto.class));
+    }
+
+    @Test
+    @DisplayName("Test get developer by incorrect id stays within allocation and latency budget")
+    public void getDeveloperByIdNotFound() throws IOException {
+        assertWithinBudget("get-developer-by-id-not-found", i -> webClient.get()
+                .uri("/api/v1/developers/{id}", Integer.MAX_VALUE)
+                .exchangeToMono(response -> response.releaseBody()));
+    }
+
+    @Test
+    @DisplayName("Test create developer stays within allocation and latency budget")
+    public void createDeveloper() throws IOException {
+        assertWithinBudget("create-developer", i -> webClient.post()
+                .uri("/api/v1/developers")
+                .bodyValue(DeveloperDto.builder()
+                        .firstName("Budget")
+                        .lastName("Developer" + i)
+                        .email("budget" + System.nanoTime() + "@mail.com")
+                        .specialty("Budget")
+                        .build())
+                .retrieve()
+                .bodyToMono(DeveloperDto.class));
+    }
+
+    private void assertWithinBudget(String requestType, IntFunction<Mono<?>> request) throws IOException {
+        for (int i = 0; i < WARM_UP_REQUESTS; i++)
+            request.apply(i).block();
+
+        var latencies = new long[MEASURED_REQUESTS];
+        var recordingFile = Files.createTempFile(requestType, ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("jdk.ThreadAllocationStatistics").with("period", "everyChunk");
+            recording.start();
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                var start = System.nanoTime();
+                request.apply(i).block();
+                latencies[i] = System.nanoTime() - start;
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        var bytesPerRequest = allocatedOnServerThreads(recordingFile) / MEASURED_REQUESTS;
+        Files.deleteIfExists(recordingFile);
+        Arrays.sort(latencies);
+        var p99Millis = latencies[(int) Math.ceil(0.99 * MEASURED_REQUESTS) - 1] / 1_000_000.0;
+
+        System.out.printf("%-32s %,10d bytes/request  p99 %8.3f ms%n", requestType, bytesPerRequest, p99Millis);
+        if (updateBudgets) {
+            measuredBudgets.put(requestType + ".bytes", (long) (bytesPerRequest * UPDATE_HEADROOM));
+            measuredBudgets.put(requestType + ".p99-ms", (long) Math.ceil(p99Millis * UPDATE_HEADROOM));
+            return;
+        }
+
+        assertThat(bytesPerRequest)
+                .as("%s bytes allocated per request", requestType)
+                .isLessThanOrEqualTo(Long.parseLong(budgets.getProperty(requestType + ".bytes")));
+        if (assertLatency)
+            assertThat(p99Millis)
+                    .as("%s p99 latency in ms", requestType)
+                    .isLessThanOrEqualTo(Double.parseDouble(budgets.getProperty(requestType + ".p99-ms")));
+    }
+
+    private void writeBudgets() throws IOException {
+        var merged = new TreeMap<String, String>();
+        budgets.stringPropertyNames().forEach(key -> merged.put(key, budgets.getProperty(key)));
+        measuredBudgets.forEach((key, value) -> merged.put(key, String.valueOf(value)));
+        var content = new StringBuilder(BUDGETS_HEADER)
+                .append(String.format("# measured on java=%s os=%s/%s cpus=%d max-heap=%dm%n", System.getProperty("java.runtime.version"),
+                        System.getProperty("os.name"), System.getProperty("os.arch"), Runtime.getRuntime().availableProcessors(),
+                        Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        merged.forEach((key, value) -> content.append(key).append('=').append(value).append('\n'));
+        var budgetsFile = Path.of(System.getProperty("budgets.file"));
+        Files.writeString(budgetsFile, content);
+        System.out.println("Updated " + budgetsFile);
+    }
+
+    private static long allocatedOnServerThreads(Path recordingFile) throws IOException {
+        var first = new HashMap<Long, Long>();
+        var last = new HashMap<Long, Long>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            var thread = event.getThread("thread");
+            if (thread == null || thread.getJavaName() == null
+                    || SERVER_THREAD_PREFIXES.stream().noneMatch(thread.getJavaName()::startsWith))
+                continue;
+            var allocated = event.getLong("allocated");
+            first.merge(thread.getJavaThreadId(), allocated, Math::min);
+            last.merge(thread.getJavaThreadId(), allocated, Math::max);
+        }
+        return last.entrySet().stream()
+                .mapToLong(entry -> entry.getValue() - first.get(entry.getKey()))
+                .sum();
+    }
+}
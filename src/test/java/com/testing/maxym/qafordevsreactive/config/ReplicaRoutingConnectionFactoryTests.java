@@ -0,0 +1,91 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingConnectionFactoryTests {
+
+    private final Connection primaryConnection = Mockito.mock(Connection.class);
+    private final Connection replica1Connection = Mockito.mock(Connection.class);
+    private final Connection replica2Connection = Mockito.mock(Connection.class);
+
+    private final ConnectionFactory primary = Mockito.mock(ConnectionFactory.class);
+    private final ConnectionFactory replica1 = Mockito.mock(ConnectionFactory.class);
+    private final ConnectionFactory replica2 = Mockito.mock(ConnectionFactory.class);
+
+    private ReplicaRoutingConnectionFactory routingConnectionFactory;
+
+    @BeforeEach
+    public void setUp() {
+        BDDMockito.<Object>given(primary.create()).willReturn(Mono.just(primaryConnection));
+        BDDMockito.<Object>given(replica1.create()).willReturn(Mono.just(replica1Connection));
+        BDDMockito.<Object>given(replica2.create()).willReturn(Mono.just(replica2Connection));
+        routingConnectionFactory = new ReplicaRoutingConnectionFactory(primary, List.of(replica1, replica2),
+                Duration.ofHours(1), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        routingConnectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Test write connection is routed to primary functionality")
+    public void givenNoReadOnlyContext_whenCreateConnection_thenPrimaryIsUsed() {
+        //given
+        //when
+        //then
+        StepVerifier.create(routingConnectionFactory.create())
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test read connections are routed round-robin to replicas functionality")
+    public void givenReadOnlyContext_whenCreateConnections_thenReplicasAreUsedRoundRobin() {
+        //given
+        //when
+        //then
+        StepVerifier.create(routingConnectionFactory.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(replica1Connection)
+                .verifyComplete();
+        StepVerifier.create(routingConnectionFactory.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(replica2Connection)
+                .verifyComplete();
+        StepVerifier.create(routingConnectionFactory.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(replica1Connection)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test failing replica is ejected and read falls back functionality")
+    public void givenFailingReplica_whenCreateReadConnection_thenReplicaIsEjectedAndPrimaryIsUsed() {
+        //given
+        BDDMockito.<Object>given(replica1.create()).willReturn(Mono.error(new IllegalStateException("connection refused")));
+        //when
+        //then
+        StepVerifier.create(routingConnectionFactory.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        assertThat(routingConnectionFactory.isEjected(0)).isTrue();
+        StepVerifier.create(routingConnectionFactory.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(replica2Connection)
+                .verifyComplete();
+        StepVerifier.create(routingConnectionFactory.create().contextWrite(ReadOnlyRouting::readOnly))
+                .expectNext(replica2Connection)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,175 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import com.testing.maxym.qafordevsreactive.exception.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestDeadlineWebFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostgresqlConnection connection = Mockito.mock(PostgresqlConnection.class);
+
+    private RequestDeadlineWebFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        var streamingRoute = new DeadlineProperties.Route();
+        streamingRoute.setPattern("/api/v1/developers/changes");
+        streamingRoute.setTimeout(Duration.ZERO);
+
+        var listRoute = new DeadlineProperties.Route();
+        listRoute.setMethod("GET");
+        listRoute.setPattern("/api/v1/developers");
+        listRoute.setTimeout(Duration.ofSeconds(30));
+
+        var properties = new DeadlineProperties();
+        properties.setDefaultTimeout(Duration.ofMillis(200));
+        properties.setMaxTimeout(Duration.ofSeconds(10));
+        properties.setRoutes(List.of(streamingRoute, listRoute));
+        filter = new RequestDeadlineWebFilter(properties, meterRegistry);
+
+        BDDMockito.given(connection.cancelRequest()).willReturn(Mono.empty());
+        BDDMockito.given(connection.close()).willReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Test route deadlines are resolved from config and header functionality")
+    public void givenRoutesAndHeader_whenResolveDeadline_thenShortestApplicableDeadlineIsUsed() {
+        //given
+        //when
+        //then
+        assertThat(filter.deadlineFor(MockServerHttpRequest.get("/api/v1/developers/1").build()))
+                .isEqualTo(Duration.ofMillis(200));
+        assertThat(filter.deadlineFor(MockServerHttpRequest.get("/api/v1/developers").build()))
+                .isEqualTo(Duration.ofSeconds(30));
+        assertThat(filter.deadlineFor(MockServerHttpRequest.get("/api/v1/developers/changes").build()))
+                .isEqualTo(Duration.ZERO);
+        assertThat(filter.deadlineFor(MockServerHttpRequest.get("/api/v1/developers")
+                .header("X-Request-Timeout", "50ms").build()))
+                .isEqualTo(Duration.ofMillis(50));
+        assertThat(filter.deadlineFor(MockServerHttpRequest.get("/api/v1/developers/changes")
+                .header("X-Request-Timeout", "1h").build()))
+                .isEqualTo(Duration.ofSeconds(10));
+        assertThat(filter.deadlineFor(MockServerHttpRequest.get("/api/v1/developers/1")
+                .header("X-Request-Timeout", "soon").build()))
+                .isEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Test expired deadline cancels chain and running statements functionality")
+    public void givenSlowChain_whenDeadlineExpires_thenRequestFailsAndStatementIsCancelled() {
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/1"));
+        WebFilterChain chain = serverExchange -> Mono.deferContextual(context -> {
+            context.<InFlightStatements>get(InFlightStatements.KEY).started(connection);
+            return Mono.never();
+        });
+        //when
+        //then
+        StepVerifier.create(filter.filter(exchange, chain))
+                .expectError(RequestDeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        var inOrder = Mockito.inOrder(connection);
+        inOrder.verify(connection).cancelRequest();
+        inOrder.verify(connection).close();
+        assertThat(meterRegistry.counter("developers.requests.timed_out").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("developers.db.cancelled_statements").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test connection is closed only after cancel request completes functionality")
+    public void givenSlowCancelRequest_whenDeadlineExpires_thenConnectionIsClosedAfterCancel() {
+        //given
+        var cancelSent = Sinks.empty();
+        BDDMockito.given(connection.cancelRequest()).willReturn(cancelSent.asMono().then());
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/1"));
+        WebFilterChain chain = serverExchange -> Mono.deferContextual(context -> {
+            context.<InFlightStatements>get(InFlightStatements.KEY).started(connection);
+            return Mono.never();
+        });
+        //when
+        StepVerifier.create(filter.filter(exchange, chain))
+                .expectError(RequestDeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        Mockito.verify(connection, Mockito.never()).close();
+        cancelSent.tryEmitEmpty();
+        //then
+        Mockito.verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Test streamed response running past the deadline completes functionality")
+    public void givenStreamLongerThanDeadline_whenFirstElementIsWrittenInTime_thenRequestCompletes() {
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/1"));
+        WebFilterChain chain = serverExchange -> serverExchange.getResponse().writeWith(Flux.interval(Duration.ofMillis(100))
+                .take(5)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(("{\"id\":" + i + "}\n").getBytes())));
+        //when
+        //then
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+        assertThat(meterRegistry.counter("developers.requests.timed_out").count()).isZero();
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .assertNext(body -> assertThat(body.lines()).hasSize(5))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test client disconnect cancels running statements functionality")
+    public void givenRunningStatement_whenClientDisconnects_thenStatementIsCancelled() {
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/changes"));
+        WebFilterChain chain = serverExchange -> Mono.deferContextual(context -> {
+            context.<InFlightStatements>get(InFlightStatements.KEY).started(connection);
+            return Mono.never();
+        });
+        //when
+        //then
+        StepVerifier.create(filter.filter(exchange, chain))
+                .expectSubscription()
+                .thenCancel()
+                .verify();
+        Mockito.verify(connection).cancelRequest();
+        assertThat(meterRegistry.counter("developers.requests.cancelled").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("developers.requests.timed_out").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test finished statements are not cancelled functionality")
+    public void givenFinishedStatement_whenDeadlineExpires_thenNoCancelRequestIsSent() {
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/1"));
+        WebFilterChain chain = serverExchange -> Mono.deferContextual(context -> {
+            var statements = context.<InFlightStatements>get(InFlightStatements.KEY);
+            statements.started(connection);
+            statements.finished(connection);
+            return Mono.never();
+        });
+        //when
+        //then
+        StepVerifier.create(filter.filter(exchange, chain))
+                .expectError(RequestDeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        Mockito.verify(connection, Mockito.never()).cancelRequest();
+        Mockito.verify(connection, Mockito.never()).close();
+    }
+}
@@ -0,0 +1,155 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import com.testing.maxym.qafordevsreactive.service.DeveloperResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class ResponseCacheWebFilterTests {
+
+    private static final String BODY = "[{\"id\":1,\"specialty\":\"Java\"}]".repeat(64);
+
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        chainCalls.incrementAndGet();
+        var response = exchange.getResponse();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+    };
+
+    private DeveloperResponseCache cache;
+    private ResponseCacheWebFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        var properties = new ResponseCacheProperties();
+        properties.setInvalidationHoldOff(Duration.ZERO);
+        properties.setGzipMinSize(DataSize.ofBytes(16));
+        properties.setRoutes(List.of("/api/v1/developers", "/api/v1/developers/specialty/{specialty}"));
+        cache = new DeveloperResponseCache(properties, Optional.empty(), new SimpleMeterRegistry());
+        filter = new ResponseCacheWebFilter(cache, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cache.stop();
+    }
+
+    @Test
+    @DisplayName("Test repeated request is served from cached bytes functionality")
+    public void givenCachedResponse_whenRequestAgain_thenChainIsSkipped() {
+        //given
+        var first = get("/api/v1/developers/specialty/Java", null);
+        //when
+        var second = get("/api/v1/developers/specialty/Java", null);
+        //then
+        assertThat(chainCalls.get()).isEqualTo(1);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Response-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(cache.entryCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test gzip variant is served to clients accepting gzip functionality")
+    public void givenCachedResponse_whenRequestWithGzip_thenCompressedBytesAreReturned() throws IOException {
+        //given
+        get("/api/v1/developers/specialty/Java", null);
+        //when
+        var result = await().atMost(Duration.ofSeconds(5))
+                .until(() -> get("/api/v1/developers/specialty/Java", "gzip, deflate"),
+                        exchange -> "gzip".equals(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)));
+        //then
+        assertThat(chainCalls.get()).isEqualTo(1);
+        var compressed = result.getResponse().getBody()
+                .reduce(new ByteArrayOutputStream(), (output, buffer) -> {
+                    var bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    output.writeBytes(bytes);
+                    return output;
+                })
+                .block()
+                .toByteArray();
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    @DisplayName("Test cached route varies on accept encoding before it is cached functionality")
+    public void givenEmptyCache_whenRequestCachedRoute_thenMissVariesOnAcceptEncoding() {
+        //given
+        //when
+        var result = get("/api/v1/developers/specialty/Java", null);
+        //then
+        assertThat(chainCalls.get()).isEqualTo(1);
+        assertThat(result.getResponse().getHeaders().getFirst(ResponseCacheWebFilter.CACHE_HEADER)).isNotEqualTo("HIT");
+        assertThat(result.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    @DisplayName("Test write to specialty invalidates its cached responses functionality")
+    public void givenCachedResponses_whenInvalidateSpecialty_thenOnlyAffectedRoutesAreRefetched() {
+        //given
+        get("/api/v1/developers/specialty/Java", null);
+        get("/api/v1/developers/specialty/Go", null);
+        get("/api/v1/developers", null);
+        //when
+        cache.invalidate("Java");
+        get("/api/v1/developers/specialty/Java", null);
+        get("/api/v1/developers/specialty/Go", null);
+        get("/api/v1/developers", null);
+        //then
+        assertThat(chainCalls.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Test error responses are not cached functionality")
+    public void givenNotFoundResponse_whenRequestAgain_thenChainIsCalledAgain() {
+        //given
+        WebFilterChain failing = exchange -> {
+            chainCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        };
+        //when
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers")), failing).block();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers")), failing).block();
+        //then
+        assertThat(chainCalls.get()).isEqualTo(2);
+        assertThat(cache.entryCount()).isZero();
+    }
+
+    private MockServerWebExchange get(String path, String acceptEncoding) {
+        var request = MockServerHttpRequest.get(path);
+        if (acceptEncoding != null)
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        var exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,120 @@
+package com.testing.maxym.qafordevsreactive.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.proxy.core.MutableQueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.testing.maxym.qafordevsreactive.config.SlowQueryListener.METHOD_KEY;
+import static com.testing.maxym.qafordevsreactive.config.SlowQueryListener.SERVICE_OBSERVATION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class SlowQueryListenerTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    private final SlowQueryProperties properties = new SlowQueryProperties();
+
+    private SlowQueryListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        observationRegistry.observationConfig().observationHandler(context -> true);
+        properties.setThreshold(Duration.ofMillis(200));
+        listener = new SlowQueryListener(properties, observationRegistry, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test statement below threshold is timed but not reported functionality")
+    public void givenFastStatement_whenAfterQuery_thenOnlyTimerIsRecorded(CapturedOutput output) {
+        //given
+        var execution = execution("SELECT * FROM developers", Duration.ofMillis(199));
+        //when
+        listener.beforeQuery(execution);
+        listener.afterQuery(execution);
+        //then
+        assertThat(meterRegistry.get("developers.db.statements").tag(METHOD_KEY, "unknown").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("developers.db.slow_statements").counter()).isNull();
+        assertThat(output).doesNotContain("slow_query");
+    }
+
+    @Test
+    @DisplayName("Test statement at threshold is reported with service caller functionality")
+    public void givenSlowStatementInsideServiceObservation_whenAfterQuery_thenCallerIsReported(CapturedOutput output) {
+        //given
+        var execution = execution("SELECT * FROM developers", Duration.ofMillis(200));
+        //when
+        Observation.createNotStarted(SERVICE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue(METHOD_KEY, "getAllDevelopers")
+                .observe(() -> listener.beforeQuery(execution));
+        listener.afterQuery(execution);
+        //then
+        assertThat(meterRegistry.get("developers.db.slow_statements").tag(METHOD_KEY, "getAllDevelopers").counter().count())
+                .isEqualTo(1);
+        assertThat(output).contains("slow_query caller=getAllDevelopers duration_ms=200");
+    }
+
+    @Test
+    @DisplayName("Test select rows are counted per emitted result functionality")
+    public void givenSelectEmittingRows_whenAfterQuery_thenEachRowIsCounted(CapturedOutput output) {
+        //given
+        var execution = execution("  select id FROM developers", Duration.ofSeconds(1));
+        listener.beforeQuery(execution);
+        //when
+        for (int i = 0; i < 3; i++) {
+            execution.setCurrentMappedResult(i);
+            listener.eachQueryResult(execution);
+        }
+        listener.afterQuery(execution);
+        //then
+        assertThat(output).contains("rows=3");
+    }
+
+    @Test
+    @DisplayName("Test modifying statement rows are taken from affected row count functionality")
+    public void givenUpdateReportingAffectedRows_whenAfterQuery_thenAffectedRowsAreSummed(CapturedOutput output) {
+        //given
+        var execution = execution("UPDATE developers SET status = 'DELETED'", Duration.ofSeconds(1));
+        listener.beforeQuery(execution);
+        //when
+        execution.setCurrentMappedResult(5L);
+        listener.eachQueryResult(execution);
+        execution.setCurrentMappedResult(2L);
+        listener.eachQueryResult(execution);
+        listener.afterQuery(execution);
+        //then
+        assertThat(output).contains("rows=7");
+    }
+
+    @Test
+    @DisplayName("Test bind values are hidden by default functionality")
+    public void givenDefaultProperties_whenSlowStatementIsReported_thenBindValuesAreHidden(CapturedOutput output) {
+        //given
+        var execution = execution("SELECT * FROM developers WHERE email = $1", Duration.ofSeconds(1));
+        //when
+        listener.beforeQuery(execution);
+        listener.afterQuery(execution);
+        //then
+        assertThat(new SlowQueryProperties().isLogBindValues()).isFalse();
+        assertThat(output).contains("bindings=\"<hidden>\"");
+    }
+
+    private static MutableQueryExecutionInfo execution(String query, Duration duration) {
+        var execution = new MutableQueryExecutionInfo();
+        execution.setQueries(List.of(new QueryInfo(query)));
+        execution.setExecuteDuration(duration);
+        execution.setSuccess(true);
+        return execution;
+    }
+}
@@ -0,0 +1,108 @@
+package com.testing.maxym.qafordevsreactive.graphql;
+
+import com.testing.maxym.qafordevsreactive.config.GraphQlConfig;
+import com.testing.maxym.qafordevsreactive.config.GraphQlLimitsProperties;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.errorhandling.GraphQlErrorResolver;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.testing.maxym.qafordevsreactive.service.DeveloperService;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+@GraphQlTest(DeveloperGraphQlController.class)
+@Import({GraphQlConfig.class, GraphQlErrorResolver.class})
+@EnableConfigurationProperties(GraphQlLimitsProperties.class)
+@TestPropertySource(properties = "app.graphql.max-complexity=50")
+public class DeveloperGraphQlControllerTests {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockBean
+    private DeveloperService developerService;
+
+    @Test
+    @DisplayName("Test developer lookups in one query are batched into a single service call functionality")
+    public void givenSeveralDeveloperFields_whenExecuteQuery_thenIdsAreLoadedInOneBatch() {
+        //given
+        DeveloperEntity john = DataUtils.getJohnDoePersisted();
+        DeveloperEntity mike = DataUtils.getMikeSmithPersisted();
+        BDDMockito.given(developerService.getDevelopersByIds(anyCollection()))
+                .willReturn(Flux.just(john, mike));
+        //when
+        GraphQlTester.Response response = graphQlTester.document("""
+                        {
+                          first: developer(id: 1) { id email }
+                          second: developer(id: 2) { firstName }
+                          both: developers(ids: [1, 2]) { lastName }
+                        }
+                        """)
+                .execute();
+        //then
+        response.path("first.email").entity(String.class).isEqualTo(john.getEmail());
+        response.path("second.firstName").entity(String.class).isEqualTo(mike.getFirstName());
+        response.path("both[*].lastName").entityList(String.class).containsExactly(john.getLastName(), mike.getLastName());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(developerService, Mockito.times(1)).getDevelopersByIds(ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    @DisplayName("Test query above complexity limit is rejected functionality")
+    public void givenTooManyIds_whenExecuteQuery_thenQueryIsRejected() {
+        //given
+        String ids = IntStream.rangeClosed(1, 30).mapToObj(String::valueOf).collect(Collectors.joining(", "));
+        //when
+        GraphQlTester.Response response = graphQlTester.document("{ developers(ids: [" + ids + "]) { id email specialty } }")
+                .execute();
+        //then
+        response.errors()
+                .satisfy(errors -> assertThat(errors).isNotEmpty()
+                        .anySatisfy(error -> assertThat(error.getMessage()).contains("complexity")));
+        Mockito.verifyNoInteractions(developerService);
+    }
+
+    @Test
+    @DisplayName("Test create developer with duplicate email returns api error code functionality")
+    public void givenDuplicateEmail_whenCreateDeveloper_thenErrorCodeIsReturned() {
+        //given
+        BDDMockito.given(developerService.createDeveloper(any(DeveloperEntity.class)))
+                .willReturn(Mono.error(new DeveloperWithEmailAlreadyExistsException("Developer with defined email is already exists", "DEVELOPER_DUPLICATE_EMAIL")));
+        //when
+        GraphQlTester.Response response = graphQlTester.document("""
+                        mutation {
+                          createDeveloper(input: {firstName: "John", lastName: "Doe", email: "john.doe@mail.com", specialty: "Java"}) { id }
+                        }
+                        """)
+                .execute();
+        //then
+        response.errors()
+                .satisfy(errors -> assertThat(errors).singleElement()
+                        .satisfies(error -> {
+                            assertThat(error.getExtensions()).containsEntry("code", "DEVELOPER_DUPLICATE_EMAIL");
+                            assertThat(error.getMessage()).isEqualTo("Developer with defined email is already exists");
+                        }));
+    }
+}
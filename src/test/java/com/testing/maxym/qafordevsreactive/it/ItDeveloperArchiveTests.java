@@ -0,0 +1,182 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
+import com.testing.maxym.qafordevsreactive.entity.ChangeOperation;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import com.testing.maxym.qafordevsreactive.service.DeveloperArchiveJob;
+import com.testing.maxym.qafordevsreactive.service.DeveloperChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Import({PostgreTestcontainerConfig.class})
+public class ItDeveloperArchiveTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private DeveloperArchiveJob archiveJob;
+
+    @Autowired
+    private DeveloperChangeFeed changeFeed;
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM developers").then()
+                .then(databaseClient.sql("DELETE FROM developers_archive").then())
+                .then(databaseClient.sql("""
+                        INSERT INTO developers (id, email, first_name, last_name, specialty, status, deleted_at) VALUES
+                            (900001, 'old1@mail.com', 'Old', 'One', 'Java', 'DELETED', now() - interval '40 days'),
+                            (900002, 'old2@mail.com', 'Old', 'Two', 'Java', 'DELETED', now() - interval '60 days'),
+                            (900003, 'old3@mail.com', 'Old', 'Three', 'Go', 'DELETED', now() - interval '90 days'),
+                            (900004, 'recent@mail.com', 'Recently', 'Deleted', 'Go', 'DELETED', now() - interval '1 day'),
+                            (900005, 'active@mail.com', 'Still', 'Active', 'Go', 'ACTIVE', NULL)
+                        """).then())
+                .block();
+    }
+
+    @Test
+    @DisplayName("Test only long soft-deleted developers are archived functionality")
+    public void givenSoftDeletedDevelopers_whenArchive_thenOnlyExpiredOnesAreMoved() {
+        //given
+        //when
+        Long archived = archiveJob.archive().block();
+        //then
+        assertThat(archived).isEqualTo(3);
+        assertThat(ids("developers")).containsExactlyInAnyOrder(900004, 900005);
+        assertThat(ids("developers_archive")).containsExactlyInAnyOrder(900001, 900002, 900003);
+    }
+
+    @Test
+    @DisplayName("Test restore archived developer functionality")
+    public void givenArchivedDeveloper_whenRestore_thenDeveloperIsActiveAgain() {
+        //given
+        archiveJob.archive().block();
+        //when
+        WebTestClient.ResponseSpec result = client.post()
+                .uri("/api/v1/developers/900002/restore")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(900002)
+                .jsonPath("$.email").isEqualTo("old2@mail.com")
+                .jsonPath("$.status").isEqualTo("ACTIVE");
+        assertThat(ids("developers")).containsExactlyInAnyOrder(900002, 900004, 900005);
+        assertThat(ids("developers_archive")).containsExactlyInAnyOrder(900001, 900003);
+    }
+
+    @Test
+    @DisplayName("Test restore archived developer with taken email functionality")
+    public void givenArchivedDeveloperWithTakenEmail_whenRestore_thenExceptionIsThrown() {
+        //given
+        archiveJob.archive().block();
+        databaseClient.sql("INSERT INTO developers (id, email, first_name, last_name, specialty, status) VALUES (900100, 'old1@mail.com', 'New', 'Owner', 'Java', 'ACTIVE')")
+                .then()
+                .block();
+        //when
+        WebTestClient.ResponseSpec result = client.post()
+                .uri("/api/v1/developers/900001/restore")
+                .exchange();
+        //then
+        result.expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].code").isEqualTo("DEVELOPER_DUPLICATE_EMAIL");
+        assertThat(ids("developers_archive")).contains(900001);
+    }
+
+    @Test
+    @DisplayName("Test restore statement is rejected by email unique index functionality")
+    public void givenEmailTakenAfterCheck_whenRestoreArchived_thenStatementIsRejectedAndArchiveIsKept() {
+        //given
+        archiveJob.archive().block();
+        databaseClient.sql("INSERT INTO developers (id, email, first_name, last_name, specialty, status) VALUES (900100, 'old3@mail.com', 'New', 'Owner', 'Java', 'ACTIVE')")
+                .then()
+                .block();
+        //when
+        //then
+        StepVerifier.create(developerRepository.restoreArchivedById(900003))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+        assertThat(ids("developers_archive")).contains(900003);
+    }
+
+    @Test
+    @DisplayName("Test archive and restore are published as distinct change operations functionality")
+    public void givenArchiveAndRestore_whenSubscribeToChanges_thenArchivedAndRestoredAreNotHardDeletes() {
+        //given
+        long lastEventId = databaseClient.sql("SELECT coalesce(max(event_id), 0) FROM developer_changes")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        archiveJob.archive().block();
+        client.post()
+                .uri("/api/v1/developers/900002/restore")
+                .exchange()
+                .expectStatus().isOk();
+        databaseClient.sql("DELETE FROM developers WHERE id = 900004").then().block();
+        //when
+        var events = changeFeed.subscribe(lastEventId).take(Duration.ofSeconds(2)).collectList().block();
+        //then
+        assertThat(events)
+                .extracting(DeveloperChangeEvent::getDeveloperId, DeveloperChangeEvent::getOperation)
+                .containsExactlyInAnyOrder(
+                        tuple(900001, ChangeOperation.ARCHIVED),
+                        tuple(900002, ChangeOperation.ARCHIVED),
+                        tuple(900003, ChangeOperation.ARCHIVED),
+                        tuple(900002, ChangeOperation.RESTORED),
+                        tuple(900004, ChangeOperation.HARD_DELETED));
+    }
+
+    @Test
+    @DisplayName("Test email unique index is built concurrently and valid functionality")
+    public void givenMigratedDatabase_whenInspectEmailIndex_thenIndexIsUniqueAndValid() {
+        //given
+        //when
+        var index = databaseClient.sql("""
+                        SELECT i.indisunique, i.indisvalid FROM pg_index i
+                        JOIN pg_class c ON c.oid = i.indexrelid
+                        WHERE c.relname = 'developers_email_uidx'
+                        """)
+                .map(row -> List.of(row.get(0, Boolean.class), row.get(1, Boolean.class)))
+                .one()
+                .block();
+        //then
+        assertThat(index).containsExactly(true, true);
+        assertThat(ids("developers_email_conflicts")).isEmpty();
+    }
+
+    private List<Integer> ids(String table) {
+        return databaseClient.sql("SELECT id FROM " + table)
+                .map(row -> row.get(0, Integer.class))
+                .all()
+                .collectList()
+                .block();
+    }
+}
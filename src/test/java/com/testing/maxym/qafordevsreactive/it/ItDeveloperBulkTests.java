@@ -0,0 +1,118 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.BulkOperationDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkOperationType;
+import com.testing.maxym.qafordevsreactive.dto.BulkRequestDto;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import com.testing.maxym.qafordevsreactive.service.DeveloperReadModel;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "app.read-model.enabled=true",
+                "app.read-model.refresh-interval=1h"
+        })
+@AutoConfigureWebTestClient
+@Import({PostgreTestcontainerConfig.class})
+public class ItDeveloperBulkTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private DeveloperReadModel readModel;
+
+    @BeforeEach
+    public void setUp() {
+        await().atMost(Duration.ofSeconds(30)).until(readModel::isLoaded);
+        developerRepository.deleteAll().block();
+        readModel.findAll().forEach(developer -> readModel.remove(developer.getId()));
+    }
+
+    @Test
+    @DisplayName("Test failed atomic bulk rolls back every operation functionality")
+    public void givenAtomicBulkWithDuplicateEmail_whenExecuteBulk_thenNothingIsCommitted() {
+        //given
+        var request = new BulkRequestDto(true, List.of(
+                create(DataUtils.getJohnDoeDtoTransient()),
+                create(DataUtils.getMikeSmithDtoTransient()),
+                create(DataUtils.getJohnDoeDtoTransient())));
+        //when
+        WebTestClient.ResponseSpec result = executeBulk(request);
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.committed").isEqualTo(false)
+                .jsonPath("$.results[0].status").isEqualTo("ROLLED_BACK")
+                .jsonPath("$.results[1].status").isEqualTo("ROLLED_BACK")
+                .jsonPath("$.results[2].status").isEqualTo("FAILED")
+                .jsonPath("$.results[2].code").isEqualTo("DEVELOPER_DUPLICATE_EMAIL");
+        assertThat(developerRepository.count().block()).isZero();
+        assertThat(readModel.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test independent bulk commits operations around a failed one functionality")
+    public void givenIndependentBulkWithMissingDeveloper_whenExecuteBulk_thenOtherOperationsAreCommitted() {
+        //given
+        DeveloperDto missing = DataUtils.getFrankJonesDtoTransient();
+        missing.setId(Integer.MAX_VALUE);
+        var request = new BulkRequestDto(false, List.of(
+                create(DataUtils.getJohnDoeDtoTransient()),
+                BulkOperationDto.builder().type(BulkOperationType.UPDATE).id(Integer.MAX_VALUE).developer(missing).build(),
+                create(DataUtils.getMikeSmithDtoTransient())));
+        //when
+        WebTestClient.ResponseSpec result = executeBulk(request);
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.committed").isEqualTo(true)
+                .jsonPath("$.results[0].status").isEqualTo("SUCCEEDED")
+                .jsonPath("$.results[1].status").isEqualTo("FAILED")
+                .jsonPath("$.results[1].code").isEqualTo("DEVELOPER_NOT_FOUND")
+                .jsonPath("$.results[2].status").isEqualTo("SUCCEEDED");
+        assertThat(developerRepository.findAll().map(DeveloperEntity::getEmail).collectList().block())
+                .containsExactlyInAnyOrder("john.doe@mail.com", "mike.smith@mail.com");
+        assertThat(readModel.findAll()).extracting(DeveloperEntity::getEmail)
+                .containsExactlyInAnyOrder("john.doe@mail.com", "mike.smith@mail.com");
+    }
+
+    private WebTestClient.ResponseSpec executeBulk(BulkRequestDto request) {
+        return client.post()
+                .uri("/api/v1/developers/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), BulkRequestDto.class)
+                .exchange();
+    }
+
+    private static BulkOperationDto create(DeveloperDto developer) {
+        return BulkOperationDto.builder()
+                .type(BulkOperationType.CREATE)
+                .developer(developer)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
+import com.testing.maxym.qafordevsreactive.entity.ChangeOperation;
+import com.testing.maxym.qafordevsreactive.service.DeveloperChangeFeed;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import({PostgreTestcontainerConfig.class})
+public class ItDeveloperChangeFeedTests {
+
+    private static final int SLOW_WRITER_ID = 920001;
+    private static final int FAST_WRITER_ID = 920002;
+
+    @Autowired
+    private DeveloperChangeFeed changeFeed;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    private Connection slowWriter;
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM developers").then()
+                .then(databaseClient.sql("DELETE FROM developer_changes").then())
+                .block();
+        slowWriter = Mono.from(connectionFactory.create()).block();
+        Mono.from(slowWriter.beginTransaction()).block();
+        Flux.from(slowWriter.createStatement("""
+                        INSERT INTO developers (id, email, first_name, last_name, specialty, status)
+                        VALUES (920001, 'slow@mail.com', 'Slow', 'Writer', 'Java', 'ACTIVE')
+                        """).execute())
+                .flatMap(Result::getRowsUpdated)
+                .blockLast();
+        databaseClient.sql("""
+                        INSERT INTO developers (id, email, first_name, last_name, specialty, status)
+                        VALUES (920002, 'fast@mail.com', 'Fast', 'Writer', 'Java', 'ACTIVE')
+                        """)
+                .then()
+                .block();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Mono.from(slowWriter.close()).block();
+    }
+
+    @Test
+    @DisplayName("Test resume replays event committed after the last seen event functionality")
+    public void givenLowerEventIdCommittedLater_whenResume_thenEventIsReplayed() {
+        //given
+        long lastEventId = eventIdOf(FAST_WRITER_ID);
+        Mono.from(slowWriter.commitTransaction()).block();
+        //when
+        var result = changeFeed.subscribe(lastEventId).take(Duration.ofSeconds(2));
+        //then
+        StepVerifier.create(result.collectList())
+                .assertNext(events -> assertThat(events)
+                        .extracting(DeveloperChangeEvent::getDeveloperId)
+                        .containsExactly(SLOW_WRITER_ID))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test live event with lower event id than the last seen one is delivered functionality")
+    public void givenLowerEventIdCommittedWhileSubscribed_whenResume_thenLiveEventIsDelivered() {
+        //given
+        long lastEventId = eventIdOf(FAST_WRITER_ID);
+        //when
+        var result = changeFeed.subscribe(lastEventId);
+        //then
+        StepVerifier.create(result)
+                .thenAwait(Duration.ofMillis(500))
+                .then(() -> Mono.from(slowWriter.commitTransaction()).block())
+                .assertNext(event -> {
+                    assertThat(event.getDeveloperId()).isEqualTo(SLOW_WRITER_ID);
+                    assertThat(event.getOperation()).isEqualTo(ChangeOperation.CREATED);
+                    assertThat(event.getEventId()).isLessThan(lastEventId);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private long eventIdOf(int developerId) {
+        return databaseClient.sql("SELECT event_id FROM developer_changes WHERE developer_id = :developerId")
+                .bind("developerId", developerId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
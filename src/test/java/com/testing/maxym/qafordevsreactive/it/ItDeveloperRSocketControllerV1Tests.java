@@ -0,0 +1,191 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperRepository;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.rsocket.context.LocalRSocketServerPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.rsocket.server.port=0")
+@Import({PostgreTestcontainerConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ItDeveloperRSocketControllerV1Tests {
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
+    private RSocketRequester requester;
+
+    @BeforeAll
+    public void connect() {
+        requester = requesterBuilder
+                .dataMimeType(MediaType.APPLICATION_CBOR)
+                .tcp("localhost", rsocketPort);
+    }
+
+    @AfterAll
+    public void disconnect() {
+        requester.dispose();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test create developer over RSocket functionality")
+    public void givenDeveloperDto_whenCreateDeveloper_thenDeveloperIsReturned() {
+        //given
+        DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+        //when
+        var result = requester.route("api.v1.developers.create")
+                .data(dto)
+                .retrieveMono(DeveloperDto.class);
+        //then
+        StepVerifier.create(result)
+                .assertNext(created -> {
+                    assertThat(created.getId()).isNotNull();
+                    assertThat(created.getEmail()).isEqualTo(dto.getEmail());
+                    assertThat(created.getStatus()).isEqualTo(Status.ACTIVE);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test create developer with duplicate email over RSocket functionality")
+    public void givenDuplicateEmail_whenCreateDeveloper_thenApplicationErrorIsReturned() {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        //when
+        var result = requester.route("api.v1.developers.create")
+                .data(DataUtils.getJohnDoeDtoTransient())
+                .retrieveMono(DeveloperDto.class);
+        //then
+        StepVerifier.create(result)
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(ApplicationErrorException.class)
+                        .hasMessageStartingWith("DEVELOPER_DUPLICATE_EMAIL"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test get developer by id over RSocket functionality")
+    public void givenPersistedDeveloper_whenGetDeveloperById_thenDeveloperIsReturned() {
+        //given
+        DeveloperEntity developer = developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        //when
+        var result = requester.route("api.v1.developers.get")
+                .data(developer.getId())
+                .retrieveMono(DeveloperDto.class);
+        //then
+        StepVerifier.create(result)
+                .assertNext(found -> assertThat(found.getEmail()).isEqualTo(developer.getEmail()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test get developer by incorrect id over RSocket functionality")
+    public void givenIncorrectId_whenGetDeveloperById_thenApplicationErrorIsReturned() {
+        //given
+        //when
+        var result = requester.route("api.v1.developers.get")
+                .data(Integer.MAX_VALUE)
+                .retrieveMono(DeveloperDto.class);
+        //then
+        StepVerifier.create(result)
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(ApplicationErrorException.class)
+                        .hasMessageStartingWith("DEVELOPER_NOT_FOUND"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test stream all developers over RSocket functionality")
+    public void givenPersistedDevelopers_whenStreamAll_thenAllDevelopersAreReturned() {
+        //given
+        developerRepository.saveAll(Flux.just(DataUtils.getJohnDoeTransient(), DataUtils.getMikeSmithTransient(),
+                DataUtils.getFrankJonesTransient())).blockLast();
+        //when
+        var result = requester.route("api.v1.developers.all")
+                .retrieveFlux(DeveloperDto.class);
+        //then
+        StepVerifier.create(result.map(DeveloperDto::getEmail).collectList())
+                .assertNext(emails -> assertThat(emails)
+                        .containsExactlyInAnyOrder("john.doe@mail.com", "mike.smith@mail.com", "frank.jones@mail.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test stream active developers by specialty over RSocket functionality")
+    public void givenPersistedDevelopers_whenStreamBySpecialty_thenOnlyActiveDevelopersAreReturned() {
+        //given
+        developerRepository.saveAll(Flux.just(DataUtils.getJohnDoeTransient(), DataUtils.getMikeSmithTransient(),
+                DataUtils.getFrankJonesTransient())).blockLast();
+        //when
+        var result = requester.route("api.v1.developers.specialty.{specialty}", "Java")
+                .retrieveFlux(DeveloperDto.class);
+        //then
+        StepVerifier.create(result.map(DeveloperDto::getEmail).collectList())
+                .assertNext(emails -> assertThat(emails)
+                        .containsExactlyInAnyOrder("john.doe@mail.com", "mike.smith@mail.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test bulk create developers over RSocket channel functionality")
+    public void givenDeveloperDtos_whenBulkCreate_thenCreatedDevelopersAreStreamedBack() {
+        //given
+        var developers = Flux.just(DataUtils.getJohnDoeDtoTransient(), DataUtils.getMikeSmithDtoTransient());
+        //when
+        var result = requester.route("api.v1.developers.bulk-create")
+                .data(developers, DeveloperDto.class)
+                .retrieveFlux(DeveloperDto.class);
+        //then
+        StepVerifier.create(result)
+                .assertNext(created -> assertThat(created.getEmail()).isEqualTo("john.doe@mail.com"))
+                .assertNext(created -> assertThat(created.getEmail()).isEqualTo("mike.smith@mail.com"))
+                .verifyComplete();
+        assertThat(developerRepository.count().block()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test soft delete developer over RSocket functionality")
+    public void givenPersistedDeveloper_whenSoftDelete_thenStatusIsDeleted() {
+        //given
+        DeveloperEntity developer = developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        //when
+        var result = requester.route("api.v1.developers.delete")
+                .data(developer.getId())
+                .retrieveMono(Void.class);
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        assertThat(developerRepository.findById(developer.getId()).block().getStatus()).isEqualTo(Status.DELETED);
+    }
+}
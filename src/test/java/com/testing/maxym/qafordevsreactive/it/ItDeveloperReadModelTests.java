@@ -0,0 +1,95 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.service.DeveloperReadModel;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "app.read-model.enabled=true",
+        "app.read-model.refresh-interval=100ms"
+})
+@Import({PostgreTestcontainerConfig.class})
+public class ItDeveloperReadModelTests {
+
+    private static final int EARLY_VERSION_ID = 910001;
+    private static final int LATE_VERSION_ID = 910002;
+
+    @Autowired
+    private DeveloperReadModel readModel;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @BeforeEach
+    public void setUp() {
+        await().atMost(Duration.ofSeconds(30)).until(readModel::isLoaded);
+        databaseClient.sql("DELETE FROM developers").then()
+                .then(databaseClient.sql("""
+                        INSERT INTO developers (id, email, first_name, last_name, specialty, status) VALUES
+                            (910001, 'early@mail.com', 'Early', 'Version', 'Java', 'ACTIVE'),
+                            (910002, 'late@mail.com', 'Late', 'Version', 'Java', 'ACTIVE')
+                        """).then())
+                .block();
+        awaitLastName(EARLY_VERSION_ID, "Version");
+        awaitLastName(LATE_VERSION_ID, "Version");
+    }
+
+    @Test
+    @DisplayName("Test write committed after a newer version is still picked up functionality")
+    public void givenLowerVersionCommittedLater_whenRefresh_thenWriteIsApplied() {
+        //given
+        Connection connection = Mono.from(connectionFactory.create()).block();
+        try {
+            Mono.from(connection.beginTransaction()).block();
+            Flux.from(connection.createStatement("UPDATE developers SET last_name = 'Slow' WHERE id = 910001").execute())
+                    .flatMap(Result::getRowsUpdated)
+                    .blockLast();
+            databaseClient.sql("UPDATE developers SET last_name = 'Fast' WHERE id = 910002").then().block();
+            awaitLastName(LATE_VERSION_ID, "Fast");
+            //when
+            Mono.from(connection.commitTransaction()).block();
+        } finally {
+            Mono.from(connection.close()).block();
+        }
+        //then
+        awaitLastName(EARLY_VERSION_ID, "Slow");
+    }
+
+    @Test
+    @DisplayName("Test local upsert older than the stored row is replaced by the stored row functionality")
+    public void givenStaleLocalUpsert_whenRefresh_thenStoredRowWins() {
+        //given
+        databaseClient.sql("UPDATE developers SET last_name = 'Newer' WHERE id = 910001").then().block();
+        awaitLastName(EARLY_VERSION_ID, "Newer");
+        DeveloperEntity stale = readModel.findById(EARLY_VERSION_ID).orElseThrow();
+        stale.setLastName("Older");
+        //when
+        readModel.upsert(stale);
+        //then
+        awaitLastName(EARLY_VERSION_ID, "Newer");
+    }
+
+    private void awaitLastName(int id, String lastName) {
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> readModel.findById(id).map(DeveloperEntity::getLastName).filter(lastName::equals).isPresent());
+    }
+}
@@ -0,0 +1,53 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.warmup.enabled=true")
+@AutoConfigureWebTestClient
+@Import({PostgreTestcontainerConfig.class})
+public class ItDeveloperWarmupTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    @DisplayName("Test warm-up runs before readiness and leaves no rows behind functionality")
+    public void givenStartedApplication_whenCheckReadiness_thenWarmupHasCompleted() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/actuator/health/readiness")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.status").isEqualTo("UP");
+        assertThat(meterRegistry.find("developers.warmup.duration").tag("phase", "statements").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isEqualTo(1));
+        assertThat(meterRegistry.find("developers.warmup.duration").tag("phase", "http").timer()).isNotNull();
+        assertThat(databaseClient.sql("SELECT count(*) FROM developers WHERE email LIKE '%@warmup.invalid'")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block()).isZero();
+    }
+}
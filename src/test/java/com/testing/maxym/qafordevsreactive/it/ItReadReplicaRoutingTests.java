@@ -0,0 +1,130 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Import({PostgreTestcontainerConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ItReadReplicaRoutingTests {
+
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:latest");
+
+    static {
+        REPLICA.start();
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.r2dbc.read-replicas.enabled", () -> true);
+        registry.add("app.r2dbc.read-replicas.urls", () -> r2dbcUrl(REPLICA));
+        registry.add("app.r2dbc.read-replicas.username", REPLICA::getUsername);
+        registry.add("app.r2dbc.read-replicas.password", REPLICA::getPassword);
+        registry.add("app.r2dbc.read-replicas.read-your-writes-window", () -> "1h");
+    }
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private final DatabaseClient replicaClient = DatabaseClient.create(ConnectionFactoryBuilder
+            .withUrl(r2dbcUrl(REPLICA))
+            .username(REPLICA.getUsername())
+            .password(REPLICA.getPassword())
+            .build());
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM developers").then()
+                .then(replicaClient.sql("DELETE FROM developers").then())
+                .block();
+    }
+
+    @Test
+    @DisplayName("Test read of developer not written by this instance is served by replica functionality")
+    public void givenDeveloperOnlyOnReplica_whenGetDeveloperById_thenReplicaIsUsed() {
+        //given
+        replicaClient.sql("""
+                        INSERT INTO developers (id, email, first_name, last_name, specialty, status)
+                        VALUES (100000, 'replica@mail.com', 'Replica', 'Only', 'Java', 'ACTIVE')
+                        """)
+                .then()
+                .block();
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers/100000")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.email").isEqualTo("replica@mail.com");
+        client.get()
+                .uri("/api/v1/developers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo("replica@mail.com");
+    }
+
+    @Test
+    @DisplayName("Test read of just written developer is served by primary functionality")
+    public void givenJustCreatedDeveloper_whenGetDeveloperById_thenPrimaryIsUsed() {
+        //given
+        DeveloperDto created = client.post()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(DataUtils.getJohnDoeDtoTransient()), DeveloperDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DeveloperDto.class)
+                .getResponseBody()
+                .blockFirst();
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers/" + created.getId())
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.email").isEqualTo(created.getEmail());
+        client.get()
+                .uri("/api/v1/developers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(0);
+    }
+
+    private static String r2dbcUrl(PostgreSQLContainer<?> container) {
+        return "r2dbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                + "/" + container.getDatabaseName();
+    }
+}
@@ -0,0 +1,279 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.DeveloperShards;
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.config.ShardingProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.exception.DeveloperNotFoundException;
+import com.testing.maxym.qafordevsreactive.exception.InvalidRequestParameterException;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperShardDirectory;
+import com.testing.maxym.qafordevsreactive.repository.ShardedDeveloperRepository;
+import com.testing.maxym.qafordevsreactive.service.DeveloperBucketMover;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Import({PostgreTestcontainerConfig.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ItShardedDeveloperRestControllerV1Tests {
+
+    private static final PostgreSQLContainer<?> SHARD_0 = new PostgreSQLContainer<>("postgres:latest");
+    private static final PostgreSQLContainer<?> SHARD_1 = new PostgreSQLContainer<>("postgres:latest");
+
+    static {
+        SHARD_0.start();
+        SHARD_1.start();
+    }
+
+    @DynamicPropertySource
+    static void shardingProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.r2dbc.sharding.enabled", () -> true);
+        registry.add("app.r2dbc.sharding.urls", () -> String.join(",", r2dbcUrl(SHARD_0), r2dbcUrl(SHARD_1)));
+        registry.add("app.r2dbc.sharding.username", SHARD_0::getUsername);
+        registry.add("app.r2dbc.sharding.password", SHARD_0::getPassword);
+        registry.add("app.r2dbc.sharding.move-freeze-settle", () -> "0s");
+        registry.add("app.r2dbc.sharding.move-grace-period", () -> "1h");
+        registry.add("app.r2dbc.sharding.bucket-map-refresh-interval", () -> "500ms");
+        registry.add("app.change-feed.enabled", () -> false);
+    }
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DeveloperShards shards;
+
+    @Autowired
+    private DeveloperShardDirectory directory;
+
+    @Autowired
+    private DeveloperBucketMover bucketMover;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ShardedDeveloperRepository developerRepository;
+
+    @Autowired
+    private ShardingProperties shardingProperties;
+
+    @BeforeEach
+    public void setUp() {
+        Flux.fromIterable(shards.templates())
+                .concatMap(template -> template.getDatabaseClient().sql("DELETE FROM developers").then()
+                        .then(template.getDatabaseClient().sql("DELETE FROM developers_archive").then()))
+                .then(databaseClient.sql("DELETE FROM developer_emails").then())
+                .then(directory.assignments().then())
+                .then(databaseClient.sql("UPDATE developer_shard_buckets SET shard = bucket % 2, state = 'ACTIVE', target_shard = NULL, cleanup_shard = NULL, cleanup_after = NULL").then())
+                .block();
+        directory.invalidate();
+    }
+
+    @Test
+    @DisplayName("Test developers are spread across shards and merged on get all functionality")
+    public void givenManyDevelopers_whenGetAllDevelopers_thenRowsFromAllShardsAreReturned() {
+        //given
+        for (int i = 0; i < 20; i++)
+            createDeveloper("developer" + i + "@mail.com").block();
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(20);
+        assertThat(countRows(0)).isPositive();
+        assertThat(countRows(1)).isPositive();
+        assertThat(countRows(0) + countRows(1)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Test update developer to email owned by another shard functionality")
+    public void givenEmailOwnedByAnotherDeveloper_whenUpdateDeveloper_thenExceptionIsThrown() {
+        //given
+        DeveloperDto owner = createDeveloper("owner@mail.com").block();
+        DeveloperDto developer = createDeveloper("other@mail.com").block();
+        developer.setEmail(owner.getEmail());
+        //when
+        WebTestClient.ResponseSpec result = client.put()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(developer), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].code").isEqualTo("DEVELOPER_DUPLICATE_EMAIL");
+    }
+
+    @Test
+    @DisplayName("Test bucket is moved online to another shard functionality")
+    public void givenDeveloper_whenMoveBucket_thenDeveloperIsServedFromTargetShard() {
+        //given
+        DeveloperDto developer = createDeveloper("moving@mail.com").block();
+        int bucket = directory.bucketOf(developer.getId());
+        int sourceShard = directory.assignment(bucket).block().shard();
+        int targetShard = 1 - sourceShard;
+        //when
+        Long copiedRows = bucketMover.moveBucket(bucket, targetShard).block();
+        //then
+        assertThat(copiedRows).isEqualTo(1);
+        assertThat(directory.assignment(bucket).block().shard()).isEqualTo(targetShard);
+        assertThat(countRows(targetShard)).isEqualTo(1);
+        client.get()
+                .uri("/api/v1/developers/" + developer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("moving@mail.com");
+        client.get()
+                .uri("/api/v1/developers")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test moved bucket stays frozen until other instances refresh their bucket map functionality")
+    public void givenOtherInstanceWithCachedBucketMap_whenMoveBucket_thenWritesResumeOnlyAfterItRoutesToTargetShard() {
+        //given
+        DeveloperDto developer = createDeveloper("stale@mail.com").block();
+        int bucket = directory.bucketOf(developer.getId());
+        int sourceShard = directory.assignment(bucket).block().shard();
+        var otherInstance = new DeveloperShardDirectory(databaseClient, shardingProperties, shards);
+        assertThat(otherInstance.shardFor(developer.getId()).block()).isEqualTo(sourceShard);
+        //when
+        bucketMover.moveBucket(bucket, 1 - sourceShard).block();
+        //then
+        assertThat(directory.assignment(bucket).block().state()).isEqualTo(DeveloperShardDirectory.BucketState.ACTIVE);
+        assertThat(otherInstance.shardFor(developer.getId()).block()).isEqualTo(1 - sourceShard);
+    }
+
+    @Test
+    @DisplayName("Test completed move left frozen is activated by cleanup functionality")
+    public void givenCompletedMoveLeftFrozen_whenCleanupRuns_thenBucketIsActivated() {
+        //given
+        databaseClient.sql("""
+                        UPDATE developer_shard_buckets SET state = 'FROZEN', target_shard = NULL, updated_at = now() - interval '1 minute'
+                        WHERE bucket = 0
+                        """)
+                .then()
+                .block();
+        //when
+        bucketMover.cleanUpMovedBuckets().block();
+        //then
+        assertThat(directory.assignment(0).block().state()).isEqualTo(DeveloperShardDirectory.BucketState.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Test moved bucket is cleaned up on source shard after grace period functionality")
+    public void givenMovedBucket_whenCleanupIsDue_thenSourceRowsAreDeleted() {
+        //given
+        DeveloperDto developer = createDeveloper("cleanup@mail.com").block();
+        int bucket = directory.bucketOf(developer.getId());
+        int sourceShard = directory.assignment(bucket).block().shard();
+        bucketMover.moveBucket(bucket, 1 - sourceShard).block();
+        assertThat(directory.assignment(bucket).block().cleanupShard()).isEqualTo(sourceShard);
+        assertThat(countRows(sourceShard)).isEqualTo(1);
+        //when
+        bucketMover.cleanUpMovedBuckets().block();
+        databaseClient.sql("UPDATE developer_shard_buckets SET cleanup_after = now() - interval '1 second' WHERE bucket = :bucket")
+                .bind("bucket", bucket)
+                .then()
+                .block();
+        bucketMover.cleanUpMovedBuckets().block();
+        //then
+        assertThat(countRows(sourceShard)).isZero();
+        assertThat(countRows(1 - sourceShard)).isEqualTo(1);
+        assertThat(directory.assignment(bucket).block().cleanupShard()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test bucket with pending cleanup cannot be moved again functionality")
+    public void givenPendingCleanup_whenMoveBucketBack_thenExceptionIsThrown() {
+        //given
+        DeveloperDto developer = createDeveloper("pending@mail.com").block();
+        int bucket = directory.bucketOf(developer.getId());
+        int sourceShard = directory.assignment(bucket).block().shard();
+        bucketMover.moveBucket(bucket, 1 - sourceShard).block();
+        //when
+        //then
+        StepVerifier.create(bucketMover.moveBucket(bucket, sourceShard))
+                .expectError(InvalidRequestParameterException.class)
+                .verify();
+        assertThat(directory.assignment(bucket).block().shard()).isEqualTo(1 - sourceShard);
+    }
+
+    @Test
+    @DisplayName("Test update of missing developer does not write to shard functionality")
+    public void givenMissingDeveloper_whenUpdate_thenNotFoundIsReturned() {
+        //given
+        var missing = DeveloperEntity.builder()
+                .id(Integer.MAX_VALUE)
+                .email("missing@mail.com")
+                .firstName("Missing")
+                .lastName("Developer")
+                .specialty("Java")
+                .status(Status.ACTIVE)
+                .build();
+        //when
+        //then
+        StepVerifier.create(developerRepository.save(missing))
+                .expectError(DeveloperNotFoundException.class)
+                .verify();
+        assertThat(directory.findIdByEmail("missing@mail.com").block()).isNull();
+    }
+
+    private Mono<DeveloperDto> createDeveloper(String email) {
+        DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+        dto.setEmail(email);
+        return client.post()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DeveloperDto.class)
+                .getResponseBody()
+                .next();
+    }
+
+    private long countRows(int shard) {
+        return shards.template(shard).getDatabaseClient()
+                .sql("SELECT count(*) FROM developers")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private static String r2dbcUrl(PostgreSQLContainer<?> container) {
+        return "r2dbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                + "/" + container.getDatabaseName();
+    }
+}
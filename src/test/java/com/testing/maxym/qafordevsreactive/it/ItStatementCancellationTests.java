@@ -0,0 +1,60 @@
+package com.testing.maxym.qafordevsreactive.it;
+
+import com.testing.maxym.qafordevsreactive.config.InFlightStatements;
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@Import({PostgreTestcontainerConfig.class})
+public class ItStatementCancellationTests {
+
+    private static final String SLEEP = "SELECT pg_sleep(30)";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    @DisplayName("Test cancelled request stops running statement and keeps pool usable functionality")
+    public void givenRunningSleep_whenRequestIsCancelled_thenStatementStopsAndPoolStaysUsable() {
+        //given
+        var statements = new InFlightStatements();
+        var cancelledStatements = new AtomicInteger();
+        var sleep = databaseClient.sql(SLEEP)
+                .then()
+                .doOnCancel(() -> cancelledStatements.addAndGet(statements.cancel()))
+                .contextWrite(context -> context.put(InFlightStatements.KEY, statements));
+        //when
+        //then
+        StepVerifier.create(sleep.timeout(Duration.ofSeconds(1)))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(10));
+        assertThat(cancelledStatements.get()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> runningSleeps() == 0);
+        StepVerifier.create(Flux.range(0, 20)
+                        .concatMap(i -> databaseClient.sql("SELECT 1").map(row -> row.get(0, Integer.class)).one()))
+                .expectNextCount(20)
+                .verifyComplete();
+    }
+
+    private long runningSleeps() {
+        return databaseClient.sql("SELECT count(*) FROM pg_stat_activity WHERE state = 'active' AND query = :query")
+                .bind("query", SLEEP)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,85 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.config.StreamingProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeveloperStreamingRepositoryImplTests {
+
+    private final ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class);
+    private final Connection connection = Mockito.mock(Connection.class);
+    private final Statement statement = Mockito.mock(Statement.class, Mockito.RETURNS_SELF);
+    private final List<Integer> fetchSizes = new CopyOnWriteArrayList<>();
+
+    private DeveloperStreamingRepositoryImpl repository;
+
+    @BeforeEach
+    public void setUp() {
+        BDDMockito.<Object>given(connectionFactory.create()).willReturn(Mono.just(connection));
+        BDDMockito.given(connection.createStatement(Mockito.anyString())).willReturn(statement);
+        BDDMockito.<Object>given(connection.close()).willReturn(Mono.empty());
+        BDDMockito.<Object>given(statement.execute()).willReturn(Flux.empty());
+        var proxied = ProxyConnectionFactory.builder(connectionFactory)
+                .listener(new ProxyExecutionListener() {
+                    @Override
+                    public void beforeMethod(MethodExecutionInfo executionInfo) {
+                        if (executionInfo.getMethod().getName().equals("fetchSize"))
+                            fetchSizes.add((Integer) executionInfo.getArgs()[0]);
+                    }
+                })
+                .build();
+        var databaseClient = DatabaseClient.builder()
+                .connectionFactory(proxied)
+                .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+                .build();
+        var properties = new StreamingProperties();
+        properties.setDefaultFetchSize(500);
+        properties.setFetchSize(Map.of("findAll", 1000, "findAllMatching", 250));
+        repository = new DeveloperStreamingRepositoryImpl(new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE), properties);
+    }
+
+    @Test
+    @DisplayName("Test configured per-query fetch size reaches the statement functionality")
+    public void givenConfiguredFetchSizes_whenStream_thenStatementUsesQueryFetchSize() {
+        //given
+        //when
+        repository.streamAll().blockLast();
+        repository.streamAll(DeveloperField.parse("id,email")).blockLast();
+        repository.streamAllMatching(DeveloperFilter.of("ACTIVE", null, null, "id"), DeveloperField.ALL).blockLast();
+        //then
+        assertThat(fetchSizes).containsExactly(1000, 1000, 250);
+    }
+
+    @Test
+    @DisplayName("Test query without configured fetch size uses default fetch size functionality")
+    public void givenNoFetchSizeForQuery_whenStream_thenStatementUsesDefaultFetchSize() {
+        //given
+        //when
+        repository.streamAllActiveBySpecialty("Java").blockLast();
+        repository.streamAllByIds(List.of(1, 2)).blockLast();
+        //then
+        assertThat(fetchSizes).containsExactly(500, 500);
+    }
+}
@@ -0,0 +1,183 @@
+package com.testing.maxym.qafordevsreactive.repository;
+
+import com.testing.maxym.qafordevsreactive.config.PostgreTestcontainerConfig;
+import com.testing.maxym.qafordevsreactive.config.StreamingProperties;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.PreparedOperation;
+import org.springframework.r2dbc.core.binding.BindTarget;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Import({PostgreTestcontainerConfig.class})
+public class ItDeveloperFilterIndexTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private StreamingProperties streamingProperties;
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM developers").then()
+                .then(databaseClient.sql("""
+                        INSERT INTO developers (email, first_name, last_name, specialty, status)
+                        SELECT 'developer' || i || '@mail.com', 'First' || i, 'Last' || (i % 50),
+                               (ARRAY['Java', 'Go', 'Rust'])[i % 3 + 1], CASE WHEN i % 4 = 0 THEN 'DELETED' ELSE 'ACTIVE' END
+                        FROM generate_series(1, 300) AS i
+                        """).then())
+                .then(databaseClient.sql("ANALYZE developers").then())
+                .block();
+    }
+
+    @Test
+    @DisplayName("Test every supported filter and sort combination is served by its expected index condition functionality")
+    public void givenSelectiveFilterCombinations_whenExplainQuery_thenExpectedIndexConditionIsUsed() {
+        //given
+        databaseClient.sql("DELETE FROM developers").then()
+                .then(databaseClient.sql("""
+                        INSERT INTO developers (email, first_name, last_name, specialty, status)
+                        SELECT 'developer' || i || '@mail.com', 'First' || i, 'Last' || (i % 5000),
+                               CASE i % 499 WHEN 1 THEN 'Java' WHEN 2 THEN 'Go' ELSE 'Specialty' || (i % 499) END,
+                               CASE WHEN i % 500 = 0 THEN 'ACTIVE' ELSE 'DELETED' END
+                        FROM generate_series(1, 50000) AS i
+                        """).then())
+                .then(databaseClient.sql("ANALYZE developers").then())
+                .block();
+        var repository = new DeveloperStreamingRepositoryImpl(template, streamingProperties);
+        //when
+        //then
+        assertIndexCondition(repository, DeveloperFilter.of("ACTIVE", null, null, null), "developers_status_id_idx", "status");
+        assertIndexCondition(repository, DeveloperFilter.of("ACTIVE", null, null, "-id"), "developers_status_id_idx", "status");
+        assertIndexCondition(repository, DeveloperFilter.of(null, List.of("Java"), null, null), "developers_specialty_id_idx", "specialty");
+        assertIndexCondition(repository, DeveloperFilter.of(null, List.of("Java", "Go"), null, null), "developers_specialty_id_idx", "specialty");
+        assertIndexCondition(repository, DeveloperFilter.of(null, List.of("Java"), null, "lastName"), "developers_specialty_last_name_idx", "specialty");
+        assertIndexCondition(repository, DeveloperFilter.of("ACTIVE", List.of("Java"), null, "lastName"), "developers_status_specialty_last_name_idx", "status", "specialty");
+        assertIndexCondition(repository, DeveloperFilter.of("ACTIVE", List.of("Java", "Go"), "Last1234", "-lastName"), "developers_status_last_name_idx", "status", "last_name");
+        assertIndexCondition(repository, DeveloperFilter.of(null, null, "Last1234", null), "developers_last_name_idx", "last_name");
+        assertIndexCondition(repository, DeveloperFilter.of(null, null, "Last1234", "lastName"), "developers_last_name_idx", "last_name");
+        assertIndexCondition(repository, DeveloperFilter.of("ACTIVE", null, "Last1234", "id"), "developers_status_last_name_idx", "status", "last_name");
+    }
+
+    @Test
+    @DisplayName("Test last name sort matches database collation functionality")
+    public void givenMixedCaseLastNames_whenSortByLastName_thenJavaAndDatabaseOrderMatch() {
+        //given
+        databaseClient.sql("""
+                        INSERT INTO developers (email, first_name, last_name, specialty, status) VALUES
+                            ('lower@mail.com', 'Lower', 'alpha', 'Java', 'ACTIVE'),
+                            ('upper@mail.com', 'Upper', 'Beta', 'Java', 'ACTIVE'),
+                            ('accent@mail.com', 'Accent', 'Émile', 'Java', 'ACTIVE'),
+                            ('space@mail.com', 'Space', 'de Vries', 'Java', 'ACTIVE')
+                        """)
+                .then()
+                .block();
+        var repository = new DeveloperStreamingRepositoryImpl(template, streamingProperties);
+        var filter = DeveloperFilter.of(null, null, null, "lastName");
+        //when
+        var fromDatabase = repository.streamAllMatching(filter, DeveloperField.ALL).collectList().block();
+        //then
+        var sortedInJava = new ArrayList<>(fromDatabase);
+        sortedInJava.sort(filter.getSort().getComparator());
+        assertThat(fromDatabase).extracting(DeveloperEntity::getLastName)
+                .containsSubsequence("Beta", "Last0", "alpha", "de Vries", "Émile");
+        assertThat(fromDatabase).extracting(DeveloperEntity::getId)
+                .containsExactlyElementsOf(sortedInJava.stream().map(DeveloperEntity::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Test get all developers with filter and sort functionality")
+    public void givenFilterParameters_whenGetAllDevelopers_thenMatchingDevelopersAreReturnedInOrder() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers?status=ACTIVE&specialty=Java,Go&lastNamePrefix=Last4&sort=-lastName&fields=id,lastName,specialty")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].lastName").isEqualTo("Last49")
+                .jsonPath("$[?(@.specialty == 'Rust')]").doesNotExist()
+                .jsonPath("$[?(@.lastName == 'Last5')]").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test get all developers with literal wildcard in last name prefix functionality")
+    public void givenWildcardPrefix_whenGetAllDevelopers_thenWildcardIsMatchedLiterally() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers?lastNamePrefix=Last_")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(0);
+    }
+
+    private void assertIndexCondition(DeveloperStreamingRepositoryImpl repository, DeveloperFilter filter, String index, String... columns) {
+        var plan = explain(repository.matchingQuery(filter, DeveloperField.ALL));
+        var scan = IntStream.range(0, plan.size())
+                .filter(i -> plan.get(i).contains(" using " + index + " ") || plan.get(i).contains("Bitmap Index Scan on " + index + " "))
+                .findFirst();
+        assertThat(scan).as("plan for %s:%n%s", filter, String.join("\n", plan)).isPresent();
+        var indexCondition = plan.stream()
+                .skip(scan.getAsInt() + 1)
+                .takeWhile(line -> !line.contains("->"))
+                .filter(line -> line.trim().startsWith("Index Cond:"))
+                .findFirst();
+        assertThat(indexCondition).as("plan for %s:%n%s", filter, String.join("\n", plan)).isPresent();
+        assertThat(indexCondition.get()).contains(columns);
+        assertThat(plan).as("plan for %s", filter).noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    private List<String> explain(PreparedOperation<?> operation) {
+        var explained = new PreparedOperation<Object>() {
+            @Override
+            public Object getSource() {
+                return operation.getSource();
+            }
+
+            @Override
+            public String toQuery() {
+                return "EXPLAIN " + operation.toQuery();
+            }
+
+            @Override
+            public void bindTo(BindTarget target) {
+                operation.bindTo(target);
+            }
+        };
+        return databaseClient.sql(explained)
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collectList()
+                .block();
+    }
+}
@@ -1,9 +1,22 @@
 package com.testing.maxym.qafordevsreactive.rest;
 
+import com.testing.maxym.qafordevsreactive.dto.BulkOperationDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkOperationType;
+import com.testing.maxym.qafordevsreactive.dto.BulkRequestDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResponseDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResultDto;
+import com.testing.maxym.qafordevsreactive.dto.BulkResultStatus;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperChangeEvent;
 import com.testing.maxym.qafordevsreactive.dto.DeveloperDto;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperField;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperFilter;
+import com.testing.maxym.qafordevsreactive.dto.DeveloperSort;
+import com.testing.maxym.qafordevsreactive.entity.ChangeOperation;
 import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
 import com.testing.maxym.qafordevsreactive.exception.DeveloperNotFoundException;
 import com.testing.maxym.qafordevsreactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.testing.maxym.qafordevsreactive.service.DeveloperBulkService;
 import com.testing.maxym.qafordevsreactive.service.DeveloperService;
 import com.testing.maxym.qafordevsreactive.util.DataUtils;
 import org.junit.jupiter.api.DisplayName;
@@ -20,8 +33,12 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.EnumSet;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ComponentScan({"com.testing.maxym.qafordevsreactive.errorhandling"})
 @ExtendWith(SpringExtension.class)
@@ -34,6 +51,9 @@ public class DeveloperRestControllerV1Tests {
     @MockBean
     private DeveloperService developerService;
 
+    @MockBean
+    private DeveloperBulkService developerBulkService;
+
     @Test
     @DisplayName("Test create developer functionality")
     public void givenDeveloperDto_whenCreateDeveloper_thenSuccessResponse() {
@@ -147,6 +167,90 @@ public class DeveloperRestControllerV1Tests {
                 .jsonPath("$.size()").isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("Test get all developers with sparse fieldset functionality")
+    public void givenFields_whenGetAllDevelopers_thenOnlyRequestedFieldsAreReturned() {
+        //given
+        DeveloperEntity developer = DeveloperEntity.builder()
+                .id(1)
+                .email("john.doe@mail.com")
+                .build();
+
+        BDDMockito.given(developerService.getAllDevelopers(eq(EnumSet.of(DeveloperField.ID, DeveloperField.EMAIL))))
+                .willReturn(Flux.just(developer));
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers?fields=id,email")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(developer.getId())
+                .jsonPath("$[0].email").isEqualTo(developer.getEmail())
+                .jsonPath("$[0].firstName").doesNotExist()
+                .jsonPath("$[0].status").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test get all developers with filter and sort functionality")
+    public void givenFilterParameters_whenGetAllDevelopers_thenFilterIsPassedToService() {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        DeveloperFilter filter = DeveloperFilter.builder()
+                .status(Status.ACTIVE)
+                .specialties(List.of("Java", "Go"))
+                .lastNamePrefix("D")
+                .sort(DeveloperSort.LAST_NAME_DESC)
+                .build();
+
+        BDDMockito.given(developerService.getAllDevelopers(eq(filter), eq(DeveloperField.ALL)))
+                .willReturn(Flux.just(developer1, developer2));
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers?status=active&specialty=Java,Go&lastNamePrefix=D&sort=-lastName")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].lastName").isEqualTo(developer1.getLastName());
+    }
+
+    @Test
+    @DisplayName("Test get all developers with unsupported sort functionality")
+    public void givenUnsupportedSort_whenGetAllDevelopers_thenBadRequestIsReturned() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers?sort=email")
+                .exchange();
+        //then
+        result.expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].code").isEqualTo("INVALID_FILTER");
+    }
+
+    @Test
+    @DisplayName("Test get developer by id with unknown field functionality")
+    public void givenUnknownField_whenGetDeveloperById_thenBadRequestIsReturned() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers/1?fields=id,salary")
+                .exchange();
+        //then
+        result.expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].code").isEqualTo("INVALID_FIELDS")
+                .jsonPath("$.errors[0].message").isEqualTo("Unknown field 'salary'");
+    }
+
     @Test
     @DisplayName("Test get developer by id functionality")
     public void givenId_whenGetDeveloperById_thenDeveloperIsReturned() {
@@ -254,4 +358,112 @@ public class DeveloperRestControllerV1Tests {
                 .jsonPath("$.errors[0].code").isEqualTo("DEVELOPER_NOT_FOUND")
                 .jsonPath("$.errors[0].message").isEqualTo("Developer not found");
     }
+
+    @Test
+    @DisplayName("Test restore archived developer by id functionality")
+    public void givenArchivedId_whenRestoreDeveloperById_thenDeveloperIsReturned() {
+        //given
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+
+        BDDMockito.given(developerService.restoreDeveloperById(anyInt()))
+                .willReturn(Mono.just(developer));
+        //when
+        WebTestClient.ResponseSpec result = client.post()
+                .uri("/api/v1/developers/1/restore")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(developer.getId())
+                .jsonPath("$.email").isEqualTo(developer.getEmail())
+                .jsonPath("$.status").isEqualTo(developer.getStatus().name());
+    }
+
+    @Test
+    @DisplayName("Test restore developer by incorrect id functionality")
+    public void givenIncorrectId_whenRestoreDeveloperById_thenExceptionIsThrown() {
+        //given
+        BDDMockito.given(developerService.restoreDeveloperById(anyInt()))
+                .willThrow(new DeveloperNotFoundException("Archived developer not found", "DEVELOPER_NOT_FOUND"));
+        //when
+        WebTestClient.ResponseSpec result = client.post()
+                .uri("/api/v1/developers/1/restore")
+                .exchange();
+        //then
+        result.expectStatus().isNotFound()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errors[0].code").isEqualTo("DEVELOPER_NOT_FOUND")
+                .jsonPath("$.errors[0].message").isEqualTo("Archived developer not found");
+    }
+
+    @Test
+    @DisplayName("Test stream developer changes as NDJSON functionality")
+    public void givenLastEventId_whenStreamChanges_thenChangesAfterItAreReturned() {
+        //given
+        DeveloperChangeEvent updated = DeveloperChangeEvent.builder()
+                .eventId(11L)
+                .developerId(1)
+                .operation(ChangeOperation.UPDATED)
+                .specialty("Java")
+                .build();
+        DeveloperChangeEvent softDeleted = DeveloperChangeEvent.builder()
+                .eventId(12L)
+                .developerId(1)
+                .operation(ChangeOperation.SOFT_DELETED)
+                .specialty("Java")
+                .build();
+
+        BDDMockito.given(developerService.getChanges(eq(10L)))
+                .willReturn(Flux.just(updated, softDeleted));
+        //when
+        WebTestClient.ResponseSpec result = client.get()
+                .uri("/api/v1/developers/changes?lastEventId=10")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBodyList(DeveloperChangeEvent.class)
+                .consumeWith(System.out::println)
+                .containsExactly(updated, softDeleted);
+    }
+
+    @Test
+    @DisplayName("Test execute bulk operations functionality")
+    public void givenBulkRequest_whenExecuteBulk_thenPerOperationResultsAreReturned() {
+        //given
+        BulkRequestDto request = BulkRequestDto.builder()
+                .atomic(true)
+                .operations(List.of(
+                        BulkOperationDto.builder().type(BulkOperationType.CREATE).developer(DataUtils.getJohnDoeDtoTransient()).build(),
+                        BulkOperationDto.builder().type(BulkOperationType.HARD_DELETE).id(999).build()))
+                .build();
+        BulkResponseDto response = BulkResponseDto.builder()
+                .atomic(true)
+                .committed(false)
+                .results(List.of(
+                        BulkResultDto.builder().index(0).type(BulkOperationType.CREATE).status(BulkResultStatus.ROLLED_BACK).build(),
+                        BulkResultDto.builder().index(1).type(BulkOperationType.HARD_DELETE).status(BulkResultStatus.FAILED)
+                                .code("DEVELOPER_NOT_FOUND").message("Developer not found").build()))
+                .build();
+
+        BDDMockito.given(developerBulkService.executeBulk(any(BulkRequestDto.class)))
+                .willReturn(Mono.just(response));
+        //when
+        WebTestClient.ResponseSpec result = client.post()
+                .uri("/api/v1/developers/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), BulkRequestDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.committed").isEqualTo(false)
+                .jsonPath("$.results[0].status").isEqualTo("ROLLED_BACK")
+                .jsonPath("$.results[0].code").doesNotExist()
+                .jsonPath("$.results[1].status").isEqualTo("FAILED")
+                .jsonPath("$.results[1].code").isEqualTo("DEVELOPER_NOT_FOUND");
+    }
 }
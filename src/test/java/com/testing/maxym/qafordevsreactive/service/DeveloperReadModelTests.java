@@ -0,0 +1,65 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.ReadModelProperties;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.entity.Status;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeveloperReadModelTests {
+
+    private final DeveloperReadModel readModel = new DeveloperReadModel(Mockito.mock(DatabaseClient.class),
+            new ReadModelProperties(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Test active developers are indexed by specialty functionality")
+    public void givenDevelopers_whenFindAllActiveBySpecialty_thenOnlyActiveDevelopersAreReturned() {
+        //given
+        readModel.upsert(DataUtils.getJohnDoePersisted());
+        readModel.upsert(DataUtils.getMikeSmithPersisted());
+        readModel.upsert(DataUtils.getFrankJonesPersisted());
+        //when
+        var developers = readModel.findAllActiveBySpecialty("Java");
+        //then
+        assertThat(developers).extracting(DeveloperEntity::getId).containsExactly(1, 2);
+        assertThat(readModel.findAll()).hasSize(3);
+        assertThat(readModel.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Test updated developer is moved between specialty indexes functionality")
+    public void givenUpdatedDeveloper_whenFindAllActiveBySpecialty_thenIndexesAreUpdated() {
+        //given
+        readModel.upsert(DataUtils.getJohnDoePersisted());
+        DeveloperEntity updated = DataUtils.getJohnDoePersisted();
+        updated.setSpecialty("Go");
+        //when
+        readModel.upsert(updated);
+        //then
+        assertThat(readModel.findAllActiveBySpecialty("Java")).isEmpty();
+        assertThat(readModel.findAllActiveBySpecialty("Go")).extracting(DeveloperEntity::getId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Test soft and hard deleted developers are removed from specialty index functionality")
+    public void givenDeletedDevelopers_whenFindAllActiveBySpecialty_thenTheyAreNotReturned() {
+        //given
+        readModel.upsert(DataUtils.getJohnDoePersisted());
+        readModel.upsert(DataUtils.getMikeSmithPersisted());
+        DeveloperEntity softDeleted = DataUtils.getJohnDoePersisted();
+        softDeleted.setStatus(Status.DELETED);
+        //when
+        readModel.upsert(softDeleted);
+        readModel.remove(2);
+        //then
+        assertThat(readModel.findAllActiveBySpecialty("Java")).isEmpty();
+        assertThat(readModel.findById(1)).map(DeveloperEntity::getStatus).contains(Status.DELETED);
+        assertThat(readModel.findById(2)).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.testing.maxym.qafordevsreactive.service;
+
+import com.testing.maxym.qafordevsreactive.config.StreamingProperties;
+import com.testing.maxym.qafordevsreactive.entity.DeveloperEntity;
+import com.testing.maxym.qafordevsreactive.repository.DeveloperCrudOperations;
+import com.testing.maxym.qafordevsreactive.util.DataUtils;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeveloperServiceImplTests {
+
+    private final DeveloperCrudOperations developerRepository = Mockito.mock(DeveloperCrudOperations.class);
+    private final StreamingProperties streamingProperties = new StreamingProperties();
+    private final DeveloperServiceImpl serviceUnderTest = new DeveloperServiceImpl(developerRepository, Optional.empty(),
+            ObservationRegistry.NOOP, streamingProperties, Optional.empty(), Optional.empty(), Optional.empty());
+
+    @Test
+    @DisplayName("Test streamed developers are requested from repository in limited batches functionality")
+    public void givenUnboundedSubscriber_whenGetAllDevelopers_thenRepositoryDemandIsShaped() {
+        //given
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        BDDMockito.given(developerRepository.streamAll())
+                .willReturn(Flux.range(0, 1000)
+                        .map(i -> DataUtils.getJohnDoePersisted())
+                        .doOnRequest(requests::add));
+        //when
+        //then
+        StepVerifier.create(serviceUnderTest.getAllDevelopers().map(DeveloperEntity::getId))
+                .expectNextCount(1000)
+                .verifyComplete();
+        assertThat(requests).isNotEmpty();
+        assertThat(requests.get(0)).isEqualTo(streamingProperties.getLimitRate());
+        assertThat(requests.subList(1, requests.size()))
+                .isNotEmpty()
+                .containsOnly((long) streamingProperties.getLimitRateLowTide());
+    }
+}